@@ -0,0 +1,78 @@
+package br.com.sobreiraromulo.starwar_planet_api.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.PriorityOrdered;
+import org.springframework.core.env.Environment;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import br.com.sobreiraromulo.starwar_planet_api.tenant.ShardRoutingDataSource;
+
+/**
+ * Startup check for the production datasource. The pool and MySQL driver
+ * settings themselves live in {@code application-prod.properties}; this only
+ * refuses to start when the profile is not backed by MySQL or still logs every
+ * statement, and logs the effective pool settings.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("prod")
+public class DataSourceTuningConfiguration {
+
+    @Bean
+    static BeanPostProcessor productionDataSourceCheck(Environment environment) {
+        return new ProductionDataSourceCheck(environment.getProperty("spring.jpa.show-sql", Boolean.class, false));
+    }
+
+    /**
+     * Runs first so it still sees the Hikari pools before any observation
+     * proxy wraps them. Shard pools are checked through their routing
+     * datasource.
+     */
+    static class ProductionDataSourceCheck implements BeanPostProcessor, PriorityOrdered {
+
+        private static final Logger log = LoggerFactory.getLogger(ProductionDataSourceCheck.class);
+
+        private final boolean showSql;
+
+        ProductionDataSourceCheck(boolean showSql) {
+            this.showSql = showSql;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof HikariDataSource dataSource) {
+                check(dataSource);
+            } else if (bean instanceof ShardRoutingDataSource routingDataSource) {
+                routingDataSource.getShards().stream()
+                        .filter(HikariDataSource.class::isInstance)
+                        .forEach(shard -> check((HikariDataSource) shard));
+            }
+            return bean;
+        }
+
+        void check(HikariDataSource dataSource) {
+            if (showSql) {
+                throw new IllegalStateException("spring.jpa.show-sql must be false in the prod profile");
+            }
+            String url = dataSource.getJdbcUrl();
+            if (url == null || !(url.startsWith("jdbc:mysql:") || url.startsWith("jdbc:tc:mysql:"))) {
+                throw new IllegalStateException("The prod profile expects a MySQL datasource, got " + url);
+            }
+
+            log.info("Datasource pool {}: maximumPoolSize={}, minimumIdle={}, driver properties={}",
+                    dataSource.getPoolName(), dataSource.getMaximumPoolSize(), dataSource.getMinimumIdle(),
+                    dataSource.getDataSourceProperties());
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package br.com.sobreiraromulo.starwar_planet_api.domain;
+
+/**
+ * Thrown when a {@link PlanetFilter} expression cannot be parsed. The message
+ * describes the problem in terms of the expression, so it can be returned to
+ * the client.
+ */
+public class InvalidFilterException extends RuntimeException {
+
+    public InvalidFilterException(String message) {
+        super(message);
+    }
+}
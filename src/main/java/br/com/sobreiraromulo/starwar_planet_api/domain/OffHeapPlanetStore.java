@@ -0,0 +1,89 @@
+package br.com.sobreiraromulo.starwar_planet_api.domain;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import br.com.sobreiraromulo.starwar_planet_api.tenant.TenantContext;
+
+/**
+ * Serving mode for read-mostly catalogs, enabled with
+ * {@code planets.store.mode=off-heap}. Each tenant's catalog is loaded from
+ * {@link PlanetRepository} into a {@link PlanetSnapshot} on first read and
+ * dropped when {@link PlanetService} reports a change, so the next read
+ * reloads it.
+ */
+@Component
+@ConditionalOnProperty(name = "planets.store.mode", havingValue = "off-heap")
+public class OffHeapPlanetStore {
+
+    private final PlanetRepository planetRepository;
+    private final Map<String, CompletableFuture<PlanetSnapshot>> snapshots = new ConcurrentHashMap<>();
+
+    public OffHeapPlanetStore(PlanetRepository planetRepository) {
+        this.planetRepository = planetRepository;
+    }
+
+    public Optional<PlanetView> get(Long id) {
+        return Optional.ofNullable(snapshot().get(id));
+    }
+
+    public Optional<PlanetView> getByName(String name) {
+        return Optional.ofNullable(snapshot().getByName(name));
+    }
+
+    public List<PlanetView> list(PlanetFilter filter) {
+        return snapshot().list(filter);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlanetsChanged(PlanetsChangedEvent event) {
+        snapshots.remove(event.tenant());
+    }
+
+    /**
+     * The first reader of a tenant loads its snapshot outside of the map, so
+     * a slow query does not block other tenants, and concurrent readers wait
+     * for that same load. A change removes the tenant's entry, loaded or still
+     * loading, so only reads that started before it can see the old catalog.
+     */
+    PlanetSnapshot snapshot() {
+        String tenant = TenantContext.getTenant();
+        CompletableFuture<PlanetSnapshot> snapshot = snapshots.get(tenant);
+        if (snapshot == null) {
+            CompletableFuture<PlanetSnapshot> loading = new CompletableFuture<>();
+            snapshot = snapshots.putIfAbsent(tenant, loading);
+            if (snapshot == null) {
+                return load(tenant, loading);
+            }
+        }
+
+        try {
+            return snapshot.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw (RuntimeException) ex.getCause();
+        }
+    }
+
+    private PlanetSnapshot load(String tenant, CompletableFuture<PlanetSnapshot> loading) {
+        try {
+            PlanetSnapshot snapshot = PlanetSnapshot.of(planetRepository.findViews((PlanetFilter) null));
+            loading.complete(snapshot);
+            return snapshot;
+        } catch (Throwable ex) {
+            snapshots.remove(tenant, loading);
+            loading.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+}
\ No newline at end of file
@@ -1,25 +1,34 @@
 package br.com.sobreiraromulo.starwar_planet_api.domain;
 
 import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.hibernate.annotations.TenantId;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import br.com.sobreiraromulo.starwar_planet_api.jacoco.ExcludeFromJacocoGeneratedReport;
+import br.com.sobreiraromulo.starwar_planet_api.tenant.TenantContext;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotEmpty;
 
 @Entity
-@Table(name = "planets")
+@Table(name = "planets", uniqueConstraints = @UniqueConstraint(columnNames = { "tenant", "name" }), indexes = {
+        @Index(name = "idx_planets_tenant_climate", columnList = "tenant, climate"),
+        @Index(name = "idx_planets_tenant_terrain", columnList = "tenant, terrain") })
 public class Planet {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     @NotEmpty
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String name;
 
     @NotEmpty
@@ -30,6 +39,16 @@ public class Planet {
     @Column(nullable = false)
     private String terrain;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @TenantId
+    @JsonIgnore
+    @Column(nullable = false, updatable = false, columnDefinition = "varchar(255) default '"
+            + TenantContext.DEFAULT_TENANT + "'")
+    private String tenant;
+
     public Planet(String climate, String terrain) {
         this.climate = climate;
         this.terrain = terrain;
@@ -83,14 +102,31 @@ public class Planet {
         this.terrain = terrain;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public String getTenant() {
+        return tenant;
+    }
+
+    public void setTenant(String tenant) {
+        this.tenant = tenant;
+    }
+
     @Override
     public boolean equals(Object object) {
-        return EqualsBuilder.reflectionEquals(object, this);
+        return EqualsBuilder.reflectionEquals(object, this, "version", "tenant");
     }
 
     @ExcludeFromJacocoGeneratedReport
     @Override
     public String toString() {
-        return "Planet [id=" + id + ", name=" + name + ", climate=" + climate + ", terrain=" + terrain + "]";
+        return "Planet [id=" + id + ", name=" + name + ", climate=" + climate + ", terrain=" + terrain + ", version="
+                + version + "]";
     }
 }
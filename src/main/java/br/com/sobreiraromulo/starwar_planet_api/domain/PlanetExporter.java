@@ -0,0 +1,177 @@
+package br.com.sobreiraromulo.starwar_planet_api.domain;
+
+import java.io.BufferedWriter;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import br.com.sobreiraromulo.starwar_planet_api.tenant.TenantContext;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Writes each tenant's catalog to a gzipped CSV file in one streaming pass
+ * over a JDBC cursor and keeps the file until {@link PlanetService} reports a
+ * change, so repeated downloads are served straight from disk.
+ */
+@Component
+public class PlanetExporter {
+
+    static final String HEADER = "id,name,climate,terrain,version\n";
+    static final int FETCH_SIZE = 1_000;
+
+    private static final String QUERY = "SELECT id, name, climate, terrain, version FROM planets "
+            + "WHERE tenant = ? ORDER BY id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, Path> snapshots = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public PlanetExporter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Opens the current tenant's export, writing it first if needed. The
+     * channel stays readable even if the snapshot is invalidated meanwhile.
+     */
+    public FileChannel open() throws IOException {
+        while (true) {
+            try {
+                return FileChannel.open(snapshot(), StandardOpenOption.READ);
+            } catch (NoSuchFileException ex) {
+                // invalidated between snapshot() and open(), write a fresh one
+            }
+        }
+    }
+
+    /**
+     * Copies {@code count} bytes from {@code position} with
+     * {@link FileChannel#transferTo}, which lets the OS move the bytes without
+     * copying them through the heap when the target allows it.
+     */
+    public static void transfer(FileChannel file, long position, long count, WritableByteChannel target)
+            throws IOException {
+        long transferred = 0;
+        while (transferred < count) {
+            long sent = file.transferTo(position + transferred, count - transferred, target);
+            if (sent <= 0 && position + transferred >= file.size()) {
+                throw new EOFException("Range ends past the export size " + file.size());
+            }
+            transferred += sent;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlanetsChanged(PlanetsChangedEvent event) {
+        generations.computeIfAbsent(event.tenant(), key -> new AtomicLong()).incrementAndGet();
+        Path file = snapshots.remove(event.tenant());
+        if (file != null) {
+            delete(file);
+        }
+    }
+
+    @PreDestroy
+    public void deleteSnapshots() {
+        snapshots.values().forEach(PlanetExporter::delete);
+        snapshots.clear();
+    }
+
+    /**
+     * Publishes a freshly written file only if no change was reported for the
+     * tenant while it was being written; otherwise writes it again.
+     */
+    Path snapshot() throws IOException {
+        String tenant = TenantContext.getTenant();
+        AtomicLong generation = generations.computeIfAbsent(tenant, key -> new AtomicLong());
+        while (true) {
+            Path file = snapshots.get(tenant);
+            if (file != null) {
+                return file;
+            }
+
+            long writtenAt = generation.get();
+            file = write(tenant);
+            Path existing = snapshots.putIfAbsent(tenant, file);
+            if (existing != null) {
+                delete(file);
+                return existing;
+            }
+            if (generation.get() == writtenAt) {
+                return file;
+            }
+            snapshots.remove(tenant, file);
+            delete(file);
+        }
+    }
+
+    private Path write(String tenant) throws IOException {
+        Path file = Files.createTempFile("planets-", ".csv.gz");
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(file), 64 * 1024), StandardCharsets.UTF_8))) {
+            writer.write(HEADER);
+            jdbcTemplate.query(connection -> {
+                var statement = connection.prepareStatement(QUERY, ResultSet.TYPE_FORWARD_ONLY,
+                        ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(FETCH_SIZE);
+                statement.setString(1, tenant);
+                return statement;
+            }, (RowCallbackHandler) resultSet -> writeRow(writer, resultSet));
+        } catch (IOException | RuntimeException ex) {
+            delete(file);
+            throw ex;
+        }
+        return file;
+    }
+
+    private static void writeRow(Writer writer, ResultSet resultSet) throws SQLException {
+        try {
+            writer.write(Long.toString(resultSet.getLong(1)));
+            writer.write(',');
+            writer.write(csv(resultSet.getString(2)));
+            writer.write(',');
+            writer.write(csv(resultSet.getString(3)));
+            writer.write(',');
+            writer.write(csv(resultSet.getString(4)));
+            writer.write(',');
+            writer.write(Long.toString(resultSet.getLong(5)));
+            writer.write('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    static String csv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            file.toFile().deleteOnExit();
+        }
+    }
+}
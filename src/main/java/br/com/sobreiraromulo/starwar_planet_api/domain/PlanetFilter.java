@@ -0,0 +1,95 @@
+package br.com.sobreiraromulo.starwar_planet_api.domain;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Boolean filter over climate and terrain, as accepted by the {@code filter}
+ * parameter of {@code GET /planets}, e.g.
+ * {@code terrain contains mountains and climate in (arid, frozen)}. Matching
+ * is case-insensitive; values with spaces or commas go between single quotes.
+ */
+public sealed interface PlanetFilter permits PlanetFilter.Term, PlanetFilter.And, PlanetFilter.Or, PlanetFilter.Not {
+
+    enum Field {
+        CLIMATE, TERRAIN;
+
+        public String attribute() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    enum Operator {
+        EQ, CONTAINS, IN
+    }
+
+    boolean matches(String climate, String terrain);
+
+    /**
+     * @throws InvalidFilterException when the expression is malformed
+     */
+    static PlanetFilter parse(String expression) {
+        return new PlanetFilterParser(expression).parse();
+    }
+
+    /**
+     * Exact (case-insensitive) match on the given values, ignoring nulls.
+     *
+     * @return null when both values are null
+     */
+    static PlanetFilter of(String terrain, String climate) {
+        PlanetFilter terrainFilter = terrain == null ? null : new Term(Field.TERRAIN, Operator.EQ, List.of(terrain));
+        PlanetFilter climateFilter = climate == null ? null : new Term(Field.CLIMATE, Operator.EQ, List.of(climate));
+        return and(climateFilter, terrainFilter);
+    }
+
+    /**
+     * Null-tolerant conjunction: a null side is treated as "match all".
+     */
+    static PlanetFilter and(PlanetFilter left, PlanetFilter right) {
+        if (left == null) {
+            return right;
+        }
+        return right == null ? left : new And(left, right);
+    }
+
+    record Term(Field field, Operator operator, List<String> values) implements PlanetFilter {
+
+        @Override
+        public boolean matches(String climate, String terrain) {
+            return matches(field == Field.CLIMATE ? climate : terrain);
+        }
+
+        public boolean matches(String value) {
+            return switch (operator) {
+                case EQ -> value.equalsIgnoreCase(values.get(0));
+                case CONTAINS -> value.toLowerCase(Locale.ROOT).contains(values.get(0).toLowerCase(Locale.ROOT));
+                case IN -> values.stream().anyMatch(value::equalsIgnoreCase);
+            };
+        }
+    }
+
+    record And(PlanetFilter left, PlanetFilter right) implements PlanetFilter {
+
+        @Override
+        public boolean matches(String climate, String terrain) {
+            return left.matches(climate, terrain) && right.matches(climate, terrain);
+        }
+    }
+
+    record Or(PlanetFilter left, PlanetFilter right) implements PlanetFilter {
+
+        @Override
+        public boolean matches(String climate, String terrain) {
+            return left.matches(climate, terrain) || right.matches(climate, terrain);
+        }
+    }
+
+    record Not(PlanetFilter filter) implements PlanetFilter {
+
+        @Override
+        public boolean matches(String climate, String terrain) {
+            return !filter.matches(climate, terrain);
+        }
+    }
+}
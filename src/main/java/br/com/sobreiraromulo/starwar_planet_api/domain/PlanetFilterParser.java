@@ -0,0 +1,164 @@
+package br.com.sobreiraromulo.starwar_planet_api.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import br.com.sobreiraromulo.starwar_planet_api.domain.PlanetFilter.Field;
+import br.com.sobreiraromulo.starwar_planet_api.domain.PlanetFilter.Operator;
+
+/**
+ * Recursive-descent parser for {@link PlanetFilter} expressions:
+ *
+ * <pre>
+ * or    := and ("or" and)*
+ * and   := unary ("and" unary)*
+ * unary := "not" unary | "(" or ")" | field operator value
+ * value := word | 'quoted text' | "(" value ("," value)* ")"   (the list form only for "in")
+ * </pre>
+ *
+ * Keywords and field names are case-insensitive.
+ */
+class PlanetFilterParser {
+
+    private final List<String> tokens;
+    private int position;
+
+    PlanetFilterParser(String expression) {
+        this.tokens = tokenize(expression);
+    }
+
+    PlanetFilter parse() {
+        if (tokens.isEmpty()) {
+            throw new InvalidFilterException("Empty filter");
+        }
+        PlanetFilter filter = parseOr();
+        if (position < tokens.size()) {
+            throw new InvalidFilterException("Unexpected '" + tokens.get(position) + "' in filter");
+        }
+        return filter;
+    }
+
+    private PlanetFilter parseOr() {
+        PlanetFilter filter = parseAnd();
+        while (acceptKeyword("or")) {
+            filter = new PlanetFilter.Or(filter, parseAnd());
+        }
+        return filter;
+    }
+
+    private PlanetFilter parseAnd() {
+        PlanetFilter filter = parseUnary();
+        while (acceptKeyword("and")) {
+            filter = new PlanetFilter.And(filter, parseUnary());
+        }
+        return filter;
+    }
+
+    private PlanetFilter parseUnary() {
+        if (acceptKeyword("not")) {
+            return new PlanetFilter.Not(parseUnary());
+        }
+        if (accept("(")) {
+            PlanetFilter filter = parseOr();
+            expect(")");
+            return filter;
+        }
+        return parseTerm();
+    }
+
+    private PlanetFilter parseTerm() {
+        Field field = keyword(Field.class, next("field"));
+        Operator operator = keyword(Operator.class, next("operator"));
+
+        List<String> values = new ArrayList<>();
+        if (operator == Operator.IN) {
+            expect("(");
+            do {
+                values.add(value(next("value")));
+            } while (accept(","));
+            expect(")");
+        } else {
+            values.add(value(next("value")));
+        }
+        return new PlanetFilter.Term(field, operator, List.copyOf(values));
+    }
+
+    private boolean acceptKeyword(String keyword) {
+        if (position < tokens.size() && tokens.get(position).equalsIgnoreCase(keyword)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean accept(String symbol) {
+        if (position < tokens.size() && tokens.get(position).equals(symbol)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(String symbol) {
+        if (!accept(symbol)) {
+            throw new InvalidFilterException("Expected '" + symbol + "' in filter");
+        }
+    }
+
+    private String next(String expected) {
+        if (position >= tokens.size()) {
+            throw new InvalidFilterException("Expected " + expected + " at end of filter");
+        }
+        return tokens.get(position++);
+    }
+
+    private static <E extends Enum<E>> E keyword(Class<E> type, String token) {
+        try {
+            return Enum.valueOf(type, token.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidFilterException("Unknown " + type.getSimpleName().toLowerCase(Locale.ROOT) + " '"
+                    + token + "' in filter");
+        }
+    }
+
+    private static String value(String token) {
+        if (token.equals("(") || token.equals(")") || token.equals(",")) {
+            throw new InvalidFilterException("Expected value but found '" + token + "' in filter");
+        }
+        return token.startsWith("'") ? token.substring(1, token.length() - 1) : token;
+    }
+
+    /**
+     * Splits into parentheses, commas, quoted strings (kept with their quotes
+     * so they are never taken for keywords) and bare words.
+     */
+    private static List<String> tokenize(String expression) {
+        List<String> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < expression.length()) {
+            char c = expression.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '(' || c == ')' || c == ',') {
+                tokens.add(String.valueOf(c));
+                i++;
+            } else if (c == '\'') {
+                int end = expression.indexOf('\'', i + 1);
+                if (end < 0) {
+                    throw new InvalidFilterException("Unterminated quote in filter");
+                }
+                tokens.add(expression.substring(i, end + 1));
+                i = end + 1;
+            } else {
+                int start = i;
+                while (i < expression.length() && !Character.isWhitespace(expression.charAt(i))
+                        && "(),'".indexOf(expression.charAt(i)) < 0) {
+                    i++;
+                }
+                tokens.add(expression.substring(start, i));
+            }
+        }
+        return tokens;
+    }
+}
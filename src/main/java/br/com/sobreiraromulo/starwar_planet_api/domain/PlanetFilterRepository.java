@@ -0,0 +1,13 @@
+package br.com.sobreiraromulo.starwar_planet_api.domain;
+
+import java.util.List;
+
+public interface PlanetFilterRepository {
+
+    /**
+     * Compiles {@code filter} into a SQL where clause and returns matching
+     * planets as projections, ordered by id. A null filter matches all.
+     */
+    List<PlanetView> findViews(PlanetFilter filter);
+
+}
\ No newline at end of file
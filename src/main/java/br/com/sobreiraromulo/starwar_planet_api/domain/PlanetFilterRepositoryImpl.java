@@ -0,0 +1,86 @@
+package br.com.sobreiraromulo.starwar_planet_api.domain;
+
+import java.util.List;
+import java.util.Locale;
+
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * On MySQL the columns are compared as they are, so {@code eq}/{@code in} can
+ * use the climate and terrain indexes. This assumes the columns keep a
+ * case-insensitive ({@code _ci}) collation, as MySQL's defaults do; with a
+ * {@code _bin} or {@code _cs} collation matching becomes case-sensitive.
+ * Other databases get {@code LOWER()} on both sides.
+ */
+class PlanetFilterRepositoryImpl implements PlanetFilterRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final boolean caseInsensitiveCollation;
+
+    PlanetFilterRepositoryImpl(EntityManagerFactory entityManagerFactory) {
+        caseInsensitiveCollation = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect() instanceof MySQLDialect;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PlanetView> findViews(PlanetFilter filter) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<PlanetView> query = builder.createQuery(PlanetView.class);
+        Root<Planet> planet = query.from(Planet.class);
+
+        query.select(builder.construct(PlanetView.class, planet.get("id"), planet.get("name"),
+                planet.get("climate"), planet.get("terrain"), planet.get("version")));
+        if (filter != null) {
+            query.where(toPredicate(filter, planet, builder, caseInsensitiveCollation));
+        }
+        query.orderBy(builder.asc(planet.get("id")));
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    private static Predicate toPredicate(PlanetFilter filter, Root<Planet> planet, CriteriaBuilder builder,
+            boolean caseInsensitive) {
+        if (filter instanceof PlanetFilter.And and) {
+            return builder.and(toPredicate(and.left(), planet, builder, caseInsensitive),
+                    toPredicate(and.right(), planet, builder, caseInsensitive));
+        }
+        if (filter instanceof PlanetFilter.Or or) {
+            return builder.or(toPredicate(or.left(), planet, builder, caseInsensitive),
+                    toPredicate(or.right(), planet, builder, caseInsensitive));
+        }
+        if (filter instanceof PlanetFilter.Not not) {
+            return builder.not(toPredicate(not.filter(), planet, builder, caseInsensitive));
+        }
+
+        PlanetFilter.Term term = (PlanetFilter.Term) filter;
+        Expression<String> column = planet.<String>get(term.field().attribute());
+        Expression<String> value = caseInsensitive ? column : builder.lower(column);
+        List<String> values = caseInsensitive ? term.values()
+                : term.values().stream().map(v -> v.toLowerCase(Locale.ROOT)).toList();
+
+        return switch (term.operator()) {
+            case EQ -> builder.equal(value, values.get(0));
+            case CONTAINS -> builder.like(value, "%" + escapeLike(values.get(0)) + "%", '\\');
+            case IN -> value.in(values);
+        };
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
\ No newline at end of file
@@ -1,17 +1,42 @@
 package br.com.sobreiraromulo.starwar_planet_api.domain;
 
-import java.util.List;
 import java.util.Optional;
 
-import org.springframework.data.domain.Example;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
-import org.springframework.data.repository.query.QueryByExampleExecutor;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface PlanetRepository extends CrudRepository<Planet, Long>, QueryByExampleExecutor<Planet> {
+public interface PlanetRepository extends CrudRepository<Planet, Long>, PlanetFilterRepository {
 
-    Optional<Planet> findByName(String name);
+    @Query("SELECT new br.com.sobreiraromulo.starwar_planet_api.domain.PlanetView(p.id, p.name, p.climate, "
+            + "p.terrain, p.version) FROM Planet p WHERE p.id = :id")
+    @Transactional(readOnly = true)
+    Optional<PlanetView> findViewById(@Param("id") Long id);
 
-    @Override
-    <S extends Planet> List<S> findAll(Example<S> example);
+    @Query("SELECT new br.com.sobreiraromulo.starwar_planet_api.domain.PlanetView(p.id, p.name, p.climate, "
+            + "p.terrain, p.version) FROM Planet p WHERE p.name = :name")
+    @Transactional(readOnly = true)
+    Optional<PlanetView> findViewByName(@Param("name") String name);
+
+    /** Null fields keep their value; returns 0 when the id is missing or the version is stale. */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Planet p SET p.name = COALESCE(:name, p.name), p.climate = COALESCE(:climate, p.climate), "
+            + "p.terrain = COALESCE(:terrain, p.terrain), p.version = p.version + 1 "
+            + "WHERE p.id = :id AND p.version = :version AND p.tenant = :tenant")
+    int updateIfVersionMatches(@Param("tenant") String tenant, @Param("id") Long id, @Param("version") Long version, @Param("name") String name,
+            @Param("climate") String climate, @Param("terrain") String terrain);
+
+    /** Same as {@link #updateIfVersionMatches} without the version guard. */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Planet p SET p.name = COALESCE(:name, p.name), p.climate = COALESCE(:climate, p.climate), "
+            + "p.terrain = COALESCE(:terrain, p.terrain), p.version = p.version + 1 "
+            + "WHERE p.id = :id AND p.tenant = :tenant")
+    int updateIfExists(@Param("tenant") String tenant, @Param("id") Long id, @Param("name") String name,
+            @Param("climate") String climate, @Param("terrain") String terrain);
+
+    @Query("SELECT p.version FROM Planet p WHERE p.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
 
 }
\ No newline at end of file
@@ -4,38 +4,103 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Example;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.sobreiraromulo.starwar_planet_api.tenant.TenantContext;
+import io.micrometer.observation.annotation.Observed;
 
 @Service
+@Observed(name = "planets.service")
 public class PlanetService {
 
     @Autowired
     private PlanetRepository planetRepository;
 
-    public PlanetService(PlanetRepository planetRepository) {
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /** Only present with {@code planets.store.mode=off-heap}. */
+    @Autowired(required = false)
+    private OffHeapPlanetStore planetStore;
+
+    public PlanetService(PlanetRepository planetRepository, ApplicationEventPublisher eventPublisher) {
         this.planetRepository = planetRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public Planet create(Planet planet) {
-        return planetRepository.save(planet);
+        Planet created = planetRepository.save(planet);
+        publishChange();
+        return created;
     }
 
-    public Optional<Planet> get(Long id) {
-        return planetRepository.findById(id);
+    public Optional<PlanetView> get(Long id) {
+        if (planetStore != null) {
+            return planetStore.get(id);
+        }
+        return planetRepository.findViewById(id);
     }
 
-    public Optional<Planet> getByName(String name) {
-        return planetRepository.findByName(name);
+    public Optional<PlanetView> getByName(String name) {
+        if (planetStore != null) {
+            return planetStore.getByName(name);
+        }
+        return planetRepository.findViewByName(name);
     }
 
-    public List<Planet> list(String terrain, String climate) {
-        Example<Planet> query = QueryBuilder.makeQuery(new Planet(climate, terrain));
+    public List<PlanetView> list(String terrain, String climate) {
+        return list(PlanetFilter.of(terrain, climate));
+    }
 
-        return planetRepository.findAll(query);
+    public List<PlanetView> list(PlanetFilter filter) {
+        if (planetStore != null) {
+            return planetStore.list(filter);
+        }
+        return planetRepository.findViews(filter);
+    }
+
+    /** Applies the non-null fields of {@code planet} if its version matches; returns the new version. */
+    @Transactional
+    public Long update(Long id, Planet planet) {
+        int updated = planetRepository.updateIfVersionMatches(TenantContext.getTenant(), id, planet.getVersion(),
+                planet.getName(), planet.getClimate(), planet.getTerrain());
+
+        if (updated == 0) {
+            if (!planetRepository.existsById(id)) {
+                throw new EmptyResultDataAccessException(1);
+            }
+            throw new OptimisticLockingFailureException(
+                    "Planet " + id + " is not at version " + planet.getVersion());
+        }
+
+        publishChange();
+        return planet.getVersion() + 1;
+    }
+
+    /** Applies the non-null fields of {@code planet} at any version; returns the new version. */
+    @Transactional
+    public Long updateAnyVersion(Long id, Planet planet) {
+        int updated = planetRepository.updateIfExists(TenantContext.getTenant(), id, planet.getName(),
+                planet.getClimate(), planet.getTerrain());
+
+        if (updated == 0) {
+            throw new EmptyResultDataAccessException(1);
+        }
+
+        publishChange();
+        return planetRepository.findVersionById(id).orElseThrow(() -> new EmptyResultDataAccessException(1));
     }
 
     public void delete(Long id) {
         planetRepository.deleteById(id);
+        publishChange();
+    }
+
+    private void publishChange() {
+        eventPublisher.publishEvent(new PlanetsChangedEvent(TenantContext.getTenant()));
     }
 }
@@ -0,0 +1,218 @@
+package br.com.sobreiraromulo.starwar_planet_api.domain;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable, columnar copy of one tenant's catalog kept in direct buffers.
+ * Climate and terrain are dictionary-encoded, names are stored as UTF-8 with
+ * an offsets column, and ids and names are indexed by open-addressing hash
+ * tables holding {@code row + 1} (0 marks an empty slot). Names are indexed
+ * lower-cased, so lookups ignore case like MySQL's default collation does on
+ * the JPA path. A missing version
+ * is stored as {@link #NO_VERSION} and read back as null. Only the small
+ * dictionaries live on the heap. All reads use absolute buffer access, so a
+ * snapshot can be shared between threads.
+ */
+final class PlanetSnapshot {
+
+    static final int PARALLEL_THRESHOLD = 10_000;
+    static final long NO_VERSION = Long.MIN_VALUE;
+
+    @FunctionalInterface
+    private interface RowPredicate {
+        boolean test(int climateCode, int terrainCode);
+    }
+
+    private final int size;
+    private final int mask;
+
+    private final LongBuffer ids;
+    private final LongBuffer versions;
+    private final IntBuffer climateCodes;
+    private final IntBuffer terrainCodes;
+    private final IntBuffer nameOffsets;
+    private final ByteBuffer names;
+
+    private final String[] climates;
+    private final String[] terrains;
+
+    private final IntBuffer idSlots;
+    private final IntBuffer nameSlots;
+
+    private PlanetSnapshot(List<PlanetView> planets) {
+        size = planets.size();
+        int capacity = Integer.highestOneBit(Math.max(size, 1) * 2 - 1) << 1;
+        mask = capacity - 1;
+
+        ids = ByteBuffer.allocateDirect(size * Long.BYTES).asLongBuffer();
+        versions = ByteBuffer.allocateDirect(size * Long.BYTES).asLongBuffer();
+        climateCodes = ByteBuffer.allocateDirect(size * Integer.BYTES).asIntBuffer();
+        terrainCodes = ByteBuffer.allocateDirect(size * Integer.BYTES).asIntBuffer();
+        nameOffsets = ByteBuffer.allocateDirect((size + 1) * Integer.BYTES).asIntBuffer();
+        idSlots = ByteBuffer.allocateDirect(capacity * Integer.BYTES).asIntBuffer();
+        nameSlots = ByteBuffer.allocateDirect(capacity * Integer.BYTES).asIntBuffer();
+
+        Map<String, Integer> climateDictionary = new LinkedHashMap<>();
+        Map<String, Integer> terrainDictionary = new LinkedHashMap<>();
+        List<byte[]> encodedNames = new ArrayList<>(size);
+        int namesLength = 0;
+
+        for (int row = 0; row < size; row++) {
+            PlanetView planet = planets.get(row);
+            byte[] name = planet.name().getBytes(StandardCharsets.UTF_8);
+
+            ids.put(row, planet.id());
+            versions.put(row, planet.version() == null ? NO_VERSION : planet.version());
+            climateCodes.put(row, climateDictionary.computeIfAbsent(planet.climate(), key -> climateDictionary.size()));
+            terrainCodes.put(row, terrainDictionary.computeIfAbsent(planet.terrain(), key -> terrainDictionary.size()));
+            nameOffsets.put(row, namesLength);
+            encodedNames.add(name);
+            namesLength += name.length;
+        }
+        nameOffsets.put(size, namesLength);
+
+        names = ByteBuffer.allocateDirect(namesLength);
+        for (int row = 0; row < size; row++) {
+            names.put(nameOffsets.get(row), encodedNames.get(row));
+        }
+
+        climates = climateDictionary.keySet().toArray(String[]::new);
+        terrains = terrainDictionary.keySet().toArray(String[]::new);
+
+        for (int row = 0; row < size; row++) {
+            insert(idSlots, hash(ids.get(row)), row);
+            insert(nameSlots, hash(nameKey(planets.get(row).name())), row);
+        }
+    }
+
+    static PlanetSnapshot of(List<PlanetView> planets) {
+        return new PlanetSnapshot(planets);
+    }
+
+    int size() {
+        return size;
+    }
+
+    PlanetView get(long id) {
+        for (int slot = hash(id) & mask;; slot = (slot + 1) & mask) {
+            int entry = idSlots.get(slot);
+            if (entry == 0) {
+                return null;
+            }
+            if (ids.get(entry - 1) == id) {
+                return view(entry - 1);
+            }
+        }
+    }
+
+    PlanetView getByName(String name) {
+        String key = name.toLowerCase(Locale.ROOT);
+        for (int slot = hash(nameKey(name)) & mask;; slot = (slot + 1) & mask) {
+            int entry = nameSlots.get(slot);
+            if (entry == 0) {
+                return null;
+            }
+            if (name(entry - 1).toLowerCase(Locale.ROOT).equals(key)) {
+                return view(entry - 1);
+            }
+        }
+    }
+
+    /**
+     * Scans for rows matching {@code filter} (all rows when null). The filter
+     * is first compiled against the climate and terrain dictionaries, so each
+     * row only costs two code lookups. Snapshots of at least
+     * {@link #PARALLEL_THRESHOLD} rows are scanned in parallel on the common
+     * fork-join pool; the result keeps snapshot order either way.
+     */
+    List<PlanetView> list(PlanetFilter filter) {
+        if (filter == null) {
+            return rows().mapToObj(this::view).toList();
+        }
+
+        RowPredicate predicate = compile(filter);
+        return rows()
+                .filter(row -> predicate.test(climateCodes.get(row), terrainCodes.get(row)))
+                .mapToObj(this::view)
+                .toList();
+    }
+
+    private IntStream rows() {
+        IntStream rows = IntStream.range(0, size);
+        return size >= PARALLEL_THRESHOLD ? rows.parallel() : rows;
+    }
+
+    private RowPredicate compile(PlanetFilter filter) {
+        if (filter instanceof PlanetFilter.And and) {
+            RowPredicate left = compile(and.left());
+            RowPredicate right = compile(and.right());
+            return (climate, terrain) -> left.test(climate, terrain) && right.test(climate, terrain);
+        }
+        if (filter instanceof PlanetFilter.Or or) {
+            RowPredicate left = compile(or.left());
+            RowPredicate right = compile(or.right());
+            return (climate, terrain) -> left.test(climate, terrain) || right.test(climate, terrain);
+        }
+        if (filter instanceof PlanetFilter.Not not) {
+            RowPredicate negated = compile(not.filter());
+            return (climate, terrain) -> !negated.test(climate, terrain);
+        }
+
+        PlanetFilter.Term term = (PlanetFilter.Term) filter;
+        String[] dictionary = term.field() == PlanetFilter.Field.CLIMATE ? climates : terrains;
+        boolean[] matches = new boolean[dictionary.length];
+        for (int code = 0; code < dictionary.length; code++) {
+            matches[code] = term.matches(dictionary[code]);
+        }
+        return term.field() == PlanetFilter.Field.CLIMATE
+                ? (climate, terrain) -> matches[climate]
+                : (climate, terrain) -> matches[terrain];
+    }
+
+    private PlanetView view(int row) {
+        long version = versions.get(row);
+        return new PlanetView(ids.get(row), name(row), climates[climateCodes.get(row)],
+                terrains[terrainCodes.get(row)], version == NO_VERSION ? null : version);
+    }
+
+    private String name(int row) {
+        int offset = nameOffsets.get(row);
+        byte[] name = new byte[nameOffsets.get(row + 1) - offset];
+        names.get(offset, name);
+        return new String(name, StandardCharsets.UTF_8);
+    }
+
+    private void insert(IntBuffer slots, int hash, int row) {
+        int slot = hash & mask;
+        while (slots.get(slot) != 0) {
+            slot = (slot + 1) & mask;
+        }
+        slots.put(slot, row + 1);
+    }
+
+    private static int hash(long id) {
+        long mixed = id * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+
+    private static byte[] nameKey(String name) {
+        return name.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int hash(byte[] bytes) {
+        int hash = 0x811C9DC5;
+        for (byte b : bytes) {
+            hash = (hash ^ b) * 0x01000193;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,13 @@
+package br.com.sobreiraromulo.starwar_planet_api.domain;
+
+/**
+ * Read-only projection of a planet, built straight from the query result so
+ * lookups and list responses never load managed entities.
+ */
+public record PlanetView(Long id, String name, String climate, String terrain, Long version) {
+
+    public static PlanetView of(Planet planet) {
+        return new PlanetView(planet.getId(), planet.getName(), planet.getClimate(), planet.getTerrain(),
+                planet.getVersion());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,8 @@
+package br.com.sobreiraromulo.starwar_planet_api.domain;
+
+/**
+ * Published by {@link PlanetService} after a planet of {@code tenant} was
+ * created, updated or deleted.
+ */
+public record PlanetsChangedEvent(String tenant) {
+}
\ No newline at end of file
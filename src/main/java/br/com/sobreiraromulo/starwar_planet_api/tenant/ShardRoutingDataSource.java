@@ -0,0 +1,58 @@
+package br.com.sobreiraromulo.starwar_planet_api.tenant;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Routes every connection to the shard owning the current tenant. Tenants are
+ * hash-partitioned, so all queries of one tenant hit a single shard. Owns the
+ * shard pools and closes them when the context shuts down.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    private final List<DataSource> shards;
+    private final int shardCount;
+
+    public ShardRoutingDataSource(List<DataSource> shards) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        this.shards = List.copyOf(shards);
+        this.shardCount = shards.size();
+
+        Map<Object, Object> targets = new HashMap<>();
+        for (int i = 0; i < shards.size(); i++) {
+            targets.put(i, shards.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(shards.get(0));
+    }
+
+    public List<DataSource> getShards() {
+        return shards;
+    }
+
+    public static int shardFor(String tenant, int shardCount) {
+        return Math.floorMod(tenant.hashCode(), shardCount);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return shardFor(TenantContext.getTenant(), shardCount);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (DataSource shard : shards) {
+            if (shard instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
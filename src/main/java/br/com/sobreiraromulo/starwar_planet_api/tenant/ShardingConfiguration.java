@@ -0,0 +1,47 @@
+package br.com.sobreiraromulo.starwar_planet_api.tenant;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Replaces the single datasource with one pool per shard when
+ * {@code planets.sharding.enabled=true}. Every shard pool gets the
+ * {@code spring.datasource.hikari.*} settings (including the driver
+ * properties of the active profile) and its own url and credentials. Each
+ * shard must already have the planets schema: Hibernate only runs its DDL
+ * against the shard of the default tenant.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "planets.sharding.enabled", havingValue = "true")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfiguration {
+
+    @Bean
+    public ShardRoutingDataSource dataSource(ShardingProperties properties, Environment environment) {
+        Binder binder = Binder.get(environment);
+        List<DataSource> shards = new ArrayList<>();
+        for (ShardingProperties.Shard shard : properties.shards()) {
+            HikariDataSource pool = new HikariDataSource();
+            binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+            pool.setJdbcUrl(shard.url());
+            pool.setUsername(shard.username());
+            pool.setPassword(shard.password());
+            pool.setPoolName("shard-" + shards.size());
+            shards.add(pool);
+        }
+
+        return new ShardRoutingDataSource(shards);
+    }
+}
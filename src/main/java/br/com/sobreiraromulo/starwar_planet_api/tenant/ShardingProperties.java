@@ -0,0 +1,12 @@
+package br.com.sobreiraromulo.starwar_planet_api.tenant;
+
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties("planets.sharding")
+public record ShardingProperties(boolean enabled, List<Shard> shards) {
+
+    public record Shard(String url, String username, String password) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,28 @@
+package br.com.sobreiraromulo.starwar_planet_api.tenant;
+
+/**
+ * Holds the tenant of the current request. Code running outside a request
+ * (startup, batch jobs, tests) sees {@link #DEFAULT_TENANT}.
+ */
+public final class TenantContext {
+
+    public static final String DEFAULT_TENANT = "default";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    public static String getTenant() {
+        String tenant = CURRENT.get();
+        return tenant != null ? tenant : DEFAULT_TENANT;
+    }
+
+    public static void setTenant(String tenant) {
+        CURRENT.set(tenant);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,21 @@
+package br.com.sobreiraromulo.starwar_planet_api.tenant;
+
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+
+/**
+ * Feeds the request tenant to Hibernate, which stamps it on new planets and
+ * restricts every planet query to it through the {@code @TenantId} column.
+ * Registered by class name in {@code application.properties}.
+ */
+public class TenantIdentifierResolver implements CurrentTenantIdentifierResolver<String> {
+
+    @Override
+    public String resolveCurrentTenantIdentifier() {
+        return TenantContext.getTenant();
+    }
+
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return true;
+    }
+}
\ No newline at end of file
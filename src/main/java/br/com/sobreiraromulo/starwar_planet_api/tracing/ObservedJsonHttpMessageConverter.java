@@ -0,0 +1,33 @@
+package br.com.sobreiraromulo.starwar_planet_api.tracing;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * Observes JSON response serialization as {@code planets.serialization}, so
+ * traces show it as its own span. It runs after the {@code Server-Timing}
+ * header is sent and is not part of it.
+ */
+public class ObservedJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final ObservationRegistry observationRegistry;
+
+    public ObservedJsonHttpMessageConverter(ObjectMapper objectMapper, ObservationRegistry observationRegistry) {
+        super(objectMapper);
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        Observation.createNotStarted("planets.serialization", observationRegistry)
+                .observeChecked(() -> super.writeInternal(object, type, outputMessage));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,31 @@
+package br.com.sobreiraromulo.starwar_planet_api.tracing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * Observes every {@code PlanetRepository} call. Spring Data repositories are
+ * proxies, so {@code @Observed} on the interface would not be picked up.
+ */
+@Aspect
+@Component
+public class RepositoryObservationAspect {
+
+    private final ObservationRegistry observationRegistry;
+
+    public RepositoryObservationAspect(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Around("execution(* br.com.sobreiraromulo.starwar_planet_api.domain.PlanetRepository+.*(..))")
+    public Object observe(ProceedingJoinPoint joinPoint) throws Throwable {
+        return Observation.createNotStarted("planets.repository", observationRegistry)
+                .contextualName("PlanetRepository#" + joinPoint.getSignature().getName())
+                .observeChecked(() -> joinPoint.proceed());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,62 @@
+package br.com.sobreiraromulo.starwar_planet_api.tracing;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Per-request accumulator of phase durations, rendered as a
+ * {@code Server-Timing} header. Phases seen several times in one request
+ * (e.g. two repository calls) are summed.
+ */
+public final class ServerTiming {
+
+    private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+
+    private final HttpServletResponse response;
+    private final long startNanos = System.nanoTime();
+    private final Map<String, Long> durations = new LinkedHashMap<>();
+
+    private ServerTiming(HttpServletResponse response) {
+        this.response = response;
+    }
+
+    public static ServerTiming start(HttpServletResponse response) {
+        ServerTiming timing = new ServerTiming(response);
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    public static ServerTiming current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public void record(String phase, long nanos) {
+        durations.merge(phase, nanos, Long::sum);
+    }
+
+    /**
+     * Sets the header with the phases recorded so far and the time elapsed
+     * since the request started as {@code total}. Does nothing once the
+     * response is committed, since headers can no longer change.
+     */
+    public void writeHeader() {
+        if (!response.isCommitted()) {
+            durations.put("total", System.nanoTime() - startNanos);
+            response.setHeader(ServerTimingFilter.SERVER_TIMING_HEADER, header());
+        }
+    }
+
+    public String header() {
+        return durations.entrySet().stream()
+                .map(entry -> String.format(Locale.ROOT, "%s;dur=%.3f", entry.getKey(), entry.getValue() / 1e6))
+                .collect(Collectors.joining(", "));
+    }
+}
\ No newline at end of file
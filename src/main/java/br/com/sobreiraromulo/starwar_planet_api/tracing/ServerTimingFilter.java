@@ -0,0 +1,45 @@
+package br.com.sobreiraromulo.starwar_planet_api.tracing;
+
+import java.io.IOException;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Adds a {@code Server-Timing} header with the per-phase breakdown of the
+ * request, enabled with {@code planets.tracing.server-timing.enabled=true}.
+ * Bodies are not buffered: the header is set when the controller returns (see
+ * {@link ServerTimingObservationHandler}), so {@code total} does not include
+ * writing the body. Responses that are still uncommitted at the end of the
+ * chain get it then. Exports write their body from the controller and are
+ * left out.
+ */
+@Component
+@ConditionalOnProperty(name = "planets.tracing.server-timing.enabled", havingValue = "true")
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().endsWith("/export");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ServerTiming timing = ServerTiming.start(response);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ServerTiming.clear();
+            timing.writeHeader();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,54 @@
+package br.com.sobreiraromulo.starwar_planet_api.tracing;
+
+import java.util.Map;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+
+/**
+ * Feeds the duration of the observed phases into the request's
+ * {@link ServerTiming}, when one was started by {@link ServerTimingFilter}.
+ * The header is written as soon as the controller returns, before the body
+ * is serialized and the response is committed.
+ */
+public class ServerTimingObservationHandler implements ObservationHandler<Observation.Context> {
+
+    static final String CONTROLLER = "planets.controller";
+
+    static final Map<String, String> PHASES = Map.of(
+            CONTROLLER, "controller",
+            "planets.service", "service",
+            "planets.repository", "repository",
+            "jdbc.connection", "db-connection",
+            "jdbc.query", "db-query",
+            "jdbc.result-set", "db-result-set");
+
+    private static final class Start {
+
+        private final long nanos = System.nanoTime();
+    }
+
+    @Override
+    public void onStart(Observation.Context context) {
+        if (ServerTiming.current() != null && PHASES.containsKey(context.getName())) {
+            context.put(Start.class, new Start());
+        }
+    }
+
+    @Override
+    public void onStop(Observation.Context context) {
+        ServerTiming timing = ServerTiming.current();
+        Start start = context.get(Start.class);
+        if (timing != null && start != null) {
+            timing.record(PHASES.get(context.getName()), System.nanoTime() - start.nanos);
+            if (CONTROLLER.equals(context.getName())) {
+                timing.writeHeader();
+            }
+        }
+    }
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return true;
+    }
+}
\ No newline at end of file
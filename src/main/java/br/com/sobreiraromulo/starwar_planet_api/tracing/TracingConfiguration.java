@@ -0,0 +1,37 @@
+package br.com.sobreiraromulo.starwar_planet_api.tracing;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+
+/**
+ * Spans go to an OTLP collector when {@code management.otlp.tracing.endpoint}
+ * is set, and to the application log with {@code planets.tracing.exporter=logging}.
+ */
+@Configuration(proxyBeanMethods = false)
+public class TracingConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(name = "planets.tracing.exporter", havingValue = "logging")
+    public LoggingSpanExporter loggingSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+            ObservationRegistry observationRegistry) {
+        return new ObservedJsonHttpMessageConverter(objectMapper, observationRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "planets.tracing.server-timing.enabled", havingValue = "true")
+    public ServerTimingObservationHandler serverTimingObservationHandler() {
+        return new ServerTimingObservationHandler();
+    }
+}
\ No newline at end of file
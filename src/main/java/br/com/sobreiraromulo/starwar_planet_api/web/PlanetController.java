@@ -1,30 +1,49 @@
 package br.com.sobreiraromulo.starwar_planet_api.web;
 
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import br.com.sobreiraromulo.starwar_planet_api.domain.Planet;
+import br.com.sobreiraromulo.starwar_planet_api.domain.PlanetExporter;
+import br.com.sobreiraromulo.starwar_planet_api.domain.PlanetFilter;
 import br.com.sobreiraromulo.starwar_planet_api.domain.PlanetService;
+import br.com.sobreiraromulo.starwar_planet_api.domain.PlanetView;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 @RestController
+@Observed(name = "planets.controller")
 @RequestMapping("/planets")
 public class PlanetController {
 
     @Autowired
     private PlanetService planetService;
 
+    @Autowired
+    private PlanetExporter planetExporter;
+
     @PostMapping
     public ResponseEntity<Planet> create(@RequestBody @Valid Planet planet) {
 
@@ -34,30 +53,131 @@ public class PlanetController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Planet> get(@PathVariable("id") Long id) {
+    public ResponseEntity<PlanetView> get(@PathVariable("id") Long id) {
         return planetService.get(id)
-                .map(planet -> ResponseEntity.ok(planet))
+                .map(PlanetController::withETag)
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @GetMapping("/name/{name}")
-    public ResponseEntity<Planet> getByName(@PathVariable("name") String name) {
+    public ResponseEntity<PlanetView> getByName(@PathVariable("name") String name) {
         return planetService.getByName(name)
-                .map(planet -> ResponseEntity.ok(planet))
+                .map(PlanetController::withETag)
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @GetMapping
-    public ResponseEntity<List<Planet>> list(@RequestParam(required = false) String terrain,
-            @RequestParam(required = false) String climate) {
-        List<Planet> planets = planetService.list(terrain, climate);
+    public ResponseEntity<List<PlanetView>> list(@RequestParam(required = false) String terrain,
+            @RequestParam(required = false) String climate, @RequestParam(required = false) String filter) {
+        if (filter != null) {
+            PlanetFilter planetFilter = PlanetFilter.and(PlanetFilter.parse(filter), PlanetFilter.of(terrain, climate));
+            return ResponseEntity.ok(planetService.list(planetFilter));
+        }
+
+        List<PlanetView> planets = planetService.list(terrain, climate);
         return ResponseEntity.ok(planets);
     }
 
+    /** Downloads the catalog as gzipped CSV, honouring a single byte range. */
+    @GetMapping("/export")
+    public void export(@RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+            HttpServletResponse response) throws IOException {
+        List<HttpRange> ranges = parseRanges(range);
+
+        try (FileChannel export = planetExporter.open()) {
+            long length = export.size();
+            long start = 0;
+            long end = length - 1;
+
+            response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+            if (ranges.size() == 1) {
+                start = ranges.get(0).getRangeStart(length);
+                end = ranges.get(0).getRangeEnd(length);
+                if (start < 0 || start > end) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    return;
+                }
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+
+            response.setContentType("application/gzip");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                    ContentDisposition.attachment().filename("planets.csv.gz").build().toString());
+            response.setContentLengthLong(end - start + 1);
+            PlanetExporter.transfer(export, start, end - start + 1, Channels.newChannel(response.getOutputStream()));
+        }
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<Void> replace(@PathVariable("id") Long id, @RequestBody @Valid Planet planet,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return update(id, planet, ifMatch);
+    }
+
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patch(@PathVariable("id") Long id, @RequestBody @Valid PlanetPatch patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return update(id, patch.toPlanet(), ifMatch);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable("id") Long id) {
         planetService.delete(id);
         return ResponseEntity.noContent().build();
     }
 
-}
+    /** The version comes from If-Match (412 on mismatch), otherwise from the body (409). */
+    private ResponseEntity<Void> update(Long id, Planet planet, String ifMatch) {
+        if (ifMatch != null && ifMatch.trim().equals("*")) {
+            Long version = planetService.updateAnyVersion(id, planet);
+            return ResponseEntity.noContent().eTag(String.valueOf(version)).build();
+        }
+        if (ifMatch != null) {
+            planet.setVersion(parseVersion(ifMatch));
+        }
+        if (planet.getVersion() == null) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED).build();
+        }
+
+        try {
+            Long version = planetService.update(id, planet);
+            return ResponseEntity.noContent().eTag(String.valueOf(version)).build();
+        } catch (OptimisticLockingFailureException ex) {
+            if (ifMatch != null) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+            }
+            throw ex;
+        }
+    }
+
+    private static ResponseEntity<PlanetView> withETag(PlanetView planet) {
+        if (planet.version() == null) {
+            return ResponseEntity.ok(planet);
+        }
+        return ResponseEntity.ok().eTag(String.valueOf(planet.version())).body(planet);
+    }
+
+    /** An invalid Range header is ignored, as RFC 9110 requires. */
+    private static List<HttpRange> parseRanges(String range) {
+        if (range == null) {
+            return List.of();
+        }
+        try {
+            return HttpRange.parseRanges(range);
+        } catch (IllegalArgumentException ex) {
+            return List.of();
+        }
+    }
+
+    private static Long parseVersion(String eTag) {
+        String value = eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+        try {
+            return Long.valueOf(value.replace("\"", "").trim());
+        } catch (NumberFormatException ex) {
+            return -1L;
+        }
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,18 @@
+package br.com.sobreiraromulo.starwar_planet_api.web;
+
+import br.com.sobreiraromulo.starwar_planet_api.domain.Planet;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Body of {@code PATCH /planets/{id}}. Fields left out (null) keep their
+ * value; fields that are sent must not be empty, like on create and replace.
+ */
+public record PlanetPatch(@Size(min = 1) String name, @Size(min = 1) String climate,
+        @Size(min = 1) String terrain, Long version) {
+
+    public Planet toPlanet() {
+        Planet planet = new Planet(name, climate, terrain);
+        planet.setVersion(version);
+        return planet;
+    }
+}
@@ -8,6 +8,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -90,4 +91,29 @@ public class PlanetIT {
 
         assertThat(sut.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
     }
-}
+
+    @Test
+    public void updatePlanet_ReturnsNoContent() {
+        Planet planet = new Planet(TATOOINE.getName(), "frozen", TATOOINE.getTerrain());
+        planet.setVersion(0L);
+
+        ResponseEntity<Void> sut = restTemplate.exchange("/planets/" + TATOOINE.getId(), HttpMethod.PUT,
+                new HttpEntity<>(planet), Void.class);
+
+        assertThat(sut.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        assertThat(sut.getHeaders().getETag()).isEqualTo("\"1\"");
+        assertThat(restTemplate.getForObject("/planets/" + TATOOINE.getId(), Planet.class).getClimate())
+                .isEqualTo("frozen");
+    }
+
+    @Test
+    public void updatePlanet_WithStaleVersion_ReturnsConflict() {
+        Planet planet = new Planet(TATOOINE.getName(), "frozen", TATOOINE.getTerrain());
+        planet.setVersion(7L);
+
+        ResponseEntity<String> sut = restTemplate.exchange("/planets/" + TATOOINE.getId(), HttpMethod.PUT,
+                new HttpEntity<>(planet), String.class);
+
+        assertThat(sut.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,132 @@
+package br.com.sobreiraromulo.starwar_planet_api.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.sobreiraromulo.starwar_planet_api.StarwarPlanetApiApplication;
+import br.com.sobreiraromulo.starwar_planet_api.domain.Planet;
+import br.com.sobreiraromulo.starwar_planet_api.domain.PlanetRepository;
+
+/**
+ * Compares the default datasource settings with the {@code prod} profile
+ * against the same MySQL database: insert throughput through
+ * {@link PlanetRepository#saveAll} and {@link PlanetRepository#findById}
+ * latencies. Uses a Testcontainers MySQL unless
+ * {@code -Dspring.datasource.url} points elsewhere. Disabled unless run with
+ * {@code -Dload=true}; the results are written as JSON to
+ * {@code target/load-test/datasource-tuning.json}.
+ */
+@EnabledIfSystemProperty(named = "load", matches = "true")
+public class DataSourceTuningBenchmarkTest {
+
+    private static final String URL = System.getProperty("spring.datasource.url",
+            "jdbc:tc:mysql:8.0:///starwars?TC_DAEMON=true");
+    private static final int PLANETS = Integer.getInteger("load.planets", 10_000);
+    private static final int THREADS = Integer.getInteger("load.threads", 8);
+    private static final int WARMUP = Integer.getInteger("load.warmup", 2_000);
+    private static final int REQUESTS = Integer.getInteger("load.requests", 50_000);
+
+    @Test
+    public void prodProfile_ComparedWithDefaults() throws Exception {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("planets", PLANETS);
+        report.put("threads", THREADS);
+        report.put("requests", REQUESTS);
+        report.put("default", run());
+        report.put("prod", run("prod"));
+        write(Path.of("target", "load-test", "datasource-tuning.json"), report);
+
+        assertThat(report).containsKeys("default", "prod");
+    }
+
+    /**
+     * Command-line arguments outrank the profile files, so both runs share
+     * the database and differ only in pool and driver settings.
+     */
+    private static Map<String, Object> run(String... profiles) throws InterruptedException {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(StarwarPlanetApiApplication.class)
+                .profiles(profiles)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + URL, "--spring.datasource.driver-class-name=",
+                        "--spring.jpa.show-sql=false")) {
+            PlanetRepository planetRepository = context.getBean(PlanetRepository.class);
+            context.getBean(JdbcTemplate.class).update("DELETE FROM planets");
+
+            List<Planet> planets = IntStream.range(0, PLANETS)
+                    .mapToObj(i -> new Planet("Bench-" + i, "arid", "desert"))
+                    .toList();
+            long start = System.nanoTime();
+            List<Long> ids = new ArrayList<>();
+            planetRepository.saveAll(planets).forEach(planet -> ids.add(planet.getId()));
+            double insertSeconds = (System.nanoTime() - start) / 1e9;
+
+            lookups(planetRepository, ids, WARMUP);
+            start = System.nanoTime();
+            long[] latencies = lookups(planetRepository, ids, REQUESTS);
+            double lookupSeconds = (System.nanoTime() - start) / 1e9;
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("insertsPerSecond", PLANETS / insertSeconds);
+            result.put("findByIdPerSecond", REQUESTS / lookupSeconds);
+            result.put("findByIdP50Millis", percentile(latencies, 50));
+            result.put("findByIdP95Millis", percentile(latencies, 95));
+            result.put("findByIdP99Millis", percentile(latencies, 99));
+            return result;
+        }
+    }
+
+    private static long[] lookups(PlanetRepository planetRepository, List<Long> ids, int count)
+            throws InterruptedException {
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>(count));
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        for (int i = 0; i < count; i++) {
+            executor.execute(() -> {
+                long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+                long start = System.nanoTime();
+                planetRepository.findById(id);
+                latencies.add(System.nanoTime() - start);
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.MINUTES)).isTrue();
+
+        synchronized (latencies) {
+            return latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        }
+    }
+
+    private static double percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    private static void write(Path output, Map<String, Object> report) throws IOException {
+        Files.createDirectories(output.getParent());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(output.toFile(), report);
+    }
+}
@@ -0,0 +1,61 @@
+package br.com.sobreiraromulo.starwar_planet_api.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import br.com.sobreiraromulo.starwar_planet_api.config.DataSourceTuningConfiguration.ProductionDataSourceCheck;
+import br.com.sobreiraromulo.starwar_planet_api.tenant.ShardRoutingDataSource;
+
+public class DataSourceTuningConfigurationTest {
+
+    @Test
+    public void check_WithMySqlUrl_KeepsDriverProperties() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:mysql://localhost:3306/starwars");
+        dataSource.addDataSourceProperty("prepStmtCacheSize", "500");
+
+        Object checked = new ProductionDataSourceCheck(false).postProcessAfterInitialization(dataSource, "dataSource");
+
+        assertThat(checked).isSameAs(dataSource);
+        assertThat(dataSource.getDataSourceProperties()).containsOnlyKeys("prepStmtCacheSize");
+    }
+
+    @Test
+    public void check_WithOtherUrl_ThrowsException() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:testdb");
+
+        assertThatThrownBy(
+                () -> new ProductionDataSourceCheck(false).postProcessAfterInitialization(dataSource, "dataSource"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void check_WithShowSql_ThrowsException() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:mysql://localhost:3306/starwars");
+
+        assertThatThrownBy(
+                () -> new ProductionDataSourceCheck(true).postProcessAfterInitialization(dataSource, "dataSource"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void check_WithOtherUrlOnShard_ThrowsException() {
+        HikariDataSource mysql = new HikariDataSource();
+        mysql.setJdbcUrl("jdbc:mysql://localhost:3306/starwars");
+        HikariDataSource h2 = new HikariDataSource();
+        h2.setJdbcUrl("jdbc:h2:mem:testdb");
+        ShardRoutingDataSource dataSource = new ShardRoutingDataSource(List.of(mysql, h2));
+
+        assertThatThrownBy(
+                () -> new ProductionDataSourceCheck(false).postProcessAfterInitialization(dataSource, "dataSource"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
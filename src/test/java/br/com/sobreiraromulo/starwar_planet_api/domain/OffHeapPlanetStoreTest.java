@@ -0,0 +1,107 @@
+package br.com.sobreiraromulo.starwar_planet_api.domain;
+
+import static br.com.sobreiraromulo.starwar_planet_api.common.PlanetConstants.PLANETS;
+import static br.com.sobreiraromulo.starwar_planet_api.common.PlanetConstants.TATOOINE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class OffHeapPlanetStoreTest {
+
+    @InjectMocks
+    private OffHeapPlanetStore planetStore;
+
+    @Mock
+    private PlanetRepository planetRepository;
+
+    @Test
+    public void getPlanet_LoadsCatalogOnce() {
+        when(planetRepository.findViews((PlanetFilter) null)).thenReturn(PLANETS.stream().map(PlanetView::of).toList());
+
+        assertThat(planetStore.get(1L)).contains(PlanetView.of(TATOOINE));
+        assertThat(planetStore.getByName(TATOOINE.getName())).contains(PlanetView.of(TATOOINE));
+        assertThat(planetStore.list(null)).hasSize(3);
+
+        verify(planetRepository, times(1)).findViews((PlanetFilter) null);
+    }
+
+    @Test
+    public void getPlanet_AfterChange_ReloadsCatalog() {
+        when(planetRepository.findViews((PlanetFilter) null))
+                .thenReturn(List.of(PlanetView.of(TATOOINE)))
+                .thenReturn(PLANETS.stream().map(PlanetView::of).toList());
+
+        assertThat(planetStore.get(2L)).isEmpty();
+
+        planetStore.onPlanetsChanged(new PlanetsChangedEvent("default"));
+
+        assertThat(planetStore.get(2L)).isNotEmpty();
+        verify(planetRepository, times(2)).findViews((PlanetFilter) null);
+    }
+
+    @Test
+    public void getPlanet_AfterChangeInOtherTenant_KeepsCatalog() {
+        when(planetRepository.findViews((PlanetFilter) null)).thenReturn(PLANETS.stream().map(PlanetView::of).toList());
+
+        planetStore.get(1L);
+        planetStore.onPlanetsChanged(new PlanetsChangedEvent("other"));
+        planetStore.get(1L);
+
+        verify(planetRepository, times(1)).findViews((PlanetFilter) null);
+    }
+
+    @Test
+    public void getPlanet_ConcurrentReads_ShareOneLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(planetRepository.findViews((PlanetFilter) null)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return PLANETS.stream().map(PlanetView::of).toList();
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?> first = executor.submit(() -> planetStore.get(1L));
+            assertThat(loading.await(10, TimeUnit.SECONDS)).isTrue();
+            List<Future<?>> waiting = List.of(executor.submit(() -> planetStore.get(2L)),
+                    executor.submit(() -> planetStore.get(3L)));
+            release.countDown();
+
+            first.get(10, TimeUnit.SECONDS);
+            for (Future<?> read : waiting) {
+                read.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(planetRepository, times(1)).findViews((PlanetFilter) null);
+    }
+
+    @Test
+    public void getPlanet_WhenLoadFails_RetriesOnNextRead() {
+        when(planetRepository.findViews((PlanetFilter) null))
+                .thenThrow(new IllegalStateException("database down"))
+                .thenReturn(PLANETS.stream().map(PlanetView::of).toList());
+
+        assertThatThrownBy(() -> planetStore.get(1L)).isInstanceOf(IllegalStateException.class);
+        assertThat(planetStore.get(1L)).contains(PlanetView.of(TATOOINE));
+    }
+}
@@ -0,0 +1,90 @@
+package br.com.sobreiraromulo.starwar_planet_api.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.jdbc.Sql;
+
+@DataJpaTest
+@Import(PlanetExporter.class)
+public class PlanetExporterTest {
+
+    @Autowired
+    private PlanetExporter planetExporter;
+
+    @BeforeEach
+    public void beforeEach() {
+        planetExporter.onPlanetsChanged(new PlanetsChangedEvent("default"));
+    }
+
+    @Sql(scripts = "/import_planets.sql")
+    @Test
+    public void exportPlanets_WritesGzippedCsv() throws IOException {
+        try (FileChannel export = planetExporter.open()) {
+            assertThat(read(export)).isEqualTo(PlanetExporter.HEADER
+                    + "1,Tatooine,arid,desert,0\n"
+                    + "2,Alderaan,temperate,\"grasslands, mountains\",0\n"
+                    + "3,Yavin IV,\"temperate, tropical\",\"jungle, rainforests\",0\n");
+        }
+    }
+
+    @Test
+    public void exportPlanets_WithoutPlanets_WritesHeaderOnly() throws IOException {
+        try (FileChannel export = planetExporter.open()) {
+            assertThat(read(export)).isEqualTo(PlanetExporter.HEADER);
+        }
+    }
+
+    @Sql(scripts = "/import_planets.sql")
+    @Test
+    public void exportPlanets_IsCachedUntilPlanetsChange() throws IOException {
+        Path first = planetExporter.snapshot();
+
+        assertThat(planetExporter.snapshot()).isEqualTo(first);
+
+        planetExporter.onPlanetsChanged(new PlanetsChangedEvent("default"));
+
+        assertThat(Files.exists(first)).isFalse();
+        assertThat(planetExporter.snapshot()).isNotEqualTo(first);
+    }
+
+    @Test
+    public void deleteSnapshots_RemovesCachedFiles() throws IOException {
+        Path snapshot = planetExporter.snapshot();
+
+        planetExporter.deleteSnapshots();
+
+        assertThat(Files.exists(snapshot)).isFalse();
+    }
+
+    @Test
+    public void csvValue_QuotesSeparatorsAndQuotes() {
+        assertThat(PlanetExporter.csv("desert")).isEqualTo("desert");
+        assertThat(PlanetExporter.csv("a, b")).isEqualTo("\"a, b\"");
+        assertThat(PlanetExporter.csv("say \"hi\"")).isEqualTo("\"say \"\"hi\"\"\"");
+    }
+
+    private static String read(FileChannel export) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PlanetExporter.transfer(export, 0, export.size(), Channels.newChannel(bytes));
+
+        try (InputStream csv = new GZIPInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return new String(csv.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
\ No newline at end of file
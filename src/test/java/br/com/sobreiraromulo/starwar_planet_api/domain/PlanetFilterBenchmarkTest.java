@@ -0,0 +1,116 @@
+package br.com.sobreiraromulo.starwar_planet_api.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Measures how the in-memory filter scan scales with cores, running the same
+ * {@link PlanetSnapshot#list} on fork-join pools of 1, 2, 4... up to all
+ * available processors. Disabled unless run with {@code -Dload=true}, like the
+ * load test; the results are written as JSON to
+ * {@code target/load-test/filter-scaling.json}.
+ */
+@EnabledIfSystemProperty(named = "load", matches = "true")
+public class PlanetFilterBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("load.snapshotRows", 1_000_000);
+    private static final int WARMUP = Integer.getInteger("load.warmup", 5);
+    private static final int ITERATIONS = Integer.getInteger("load.iterations", 20);
+
+    private static final String FILTER = "terrain contains mountains and climate in (arid, frozen)";
+    private static final String[] CLIMATES = { "arid", "temperate", "tropical", "frozen", "murky", "windy" };
+    private static final String[] TERRAINS = { "desert", "grasslands", "mountains", "jungle", "tundra", "ocean",
+            "swamp", "cityscape" };
+
+    @Test
+    public void filterScan_ScalesWithParallelism() throws Exception {
+        PlanetSnapshot snapshot = PlanetSnapshot.of(IntStream.range(0, ROWS)
+                .mapToObj(i -> new PlanetView((long) i, "Planet-" + i, CLIMATES[i % CLIMATES.length],
+                        TERRAINS[i % TERRAINS.length] + ", " + TERRAINS[i / TERRAINS.length % TERRAINS.length], 0L))
+                .toList());
+        PlanetFilter filter = PlanetFilter.parse(FILTER);
+        int expected = snapshot.list(filter).size();
+
+        List<Map<String, Object>> runs = new ArrayList<>();
+        double baseline = 0;
+        for (int parallelism : parallelismLevels()) {
+            double medianMillis = median(parallelism, snapshot, filter, expected);
+            if (parallelism == 1) {
+                baseline = medianMillis;
+            }
+
+            Map<String, Object> run = new LinkedHashMap<>();
+            run.put("parallelism", parallelism);
+            run.put("medianMillis", medianMillis);
+            run.put("speedup", baseline / medianMillis);
+            runs.add(run);
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("rows", ROWS);
+        report.put("matches", expected);
+        report.put("filter", FILTER);
+        report.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        report.put("runs", runs);
+        write(Path.of("target", "load-test", "filter-scaling.json"), report);
+
+        assertThat(runs).isNotEmpty();
+    }
+
+    /**
+     * Parallel streams started from inside a fork-join pool run on that pool,
+     * so the pool size sets how many cores the scan can use.
+     */
+    private static double median(int parallelism, PlanetSnapshot snapshot, PlanetFilter filter, int expected)
+            throws InterruptedException, ExecutionException {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            long[] samples = new long[ITERATIONS];
+            for (int i = -WARMUP; i < ITERATIONS; i++) {
+                long start = System.nanoTime();
+                int matches = pool.submit(() -> snapshot.list(filter).size()).get();
+                long elapsed = System.nanoTime() - start;
+
+                assertThat(matches).isEqualTo(expected);
+                if (i >= 0) {
+                    samples[i] = elapsed;
+                }
+            }
+            Arrays.sort(samples);
+            return samples[ITERATIONS / 2] / 1e6;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static List<Integer> parallelismLevels() {
+        int processors = Runtime.getRuntime().availableProcessors();
+        List<Integer> levels = new ArrayList<>();
+        for (int level = 1; level < processors; level *= 2) {
+            levels.add(level);
+        }
+        levels.add(processors);
+        return levels;
+    }
+
+    private static void write(Path output, Map<String, Object> report) throws IOException {
+        Files.createDirectories(output.getParent());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(output.toFile(), report);
+    }
+}
@@ -0,0 +1,64 @@
+package br.com.sobreiraromulo.starwar_planet_api.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import br.com.sobreiraromulo.starwar_planet_api.domain.PlanetFilter.And;
+import br.com.sobreiraromulo.starwar_planet_api.domain.PlanetFilter.Field;
+import br.com.sobreiraromulo.starwar_planet_api.domain.PlanetFilter.Not;
+import br.com.sobreiraromulo.starwar_planet_api.domain.PlanetFilter.Operator;
+import br.com.sobreiraromulo.starwar_planet_api.domain.PlanetFilter.Or;
+import br.com.sobreiraromulo.starwar_planet_api.domain.PlanetFilter.Term;
+
+public class PlanetFilterTest {
+
+    private static final Term MOUNTAINS = new Term(Field.TERRAIN, Operator.CONTAINS, List.of("mountains"));
+    private static final Term ARID_OR_FROZEN = new Term(Field.CLIMATE, Operator.IN, List.of("arid", "frozen"));
+    private static final Term DESERT = new Term(Field.TERRAIN, Operator.EQ, List.of("desert"));
+
+    @Test
+    public void parseFilter_WithAndOrNot_RespectsPrecedence() {
+        PlanetFilter sut = PlanetFilter
+                .parse("terrain contains mountains AND climate in (arid, frozen) or not terrain eq desert");
+
+        assertThat(sut).isEqualTo(new Or(new And(MOUNTAINS, ARID_OR_FROZEN), new Not(DESERT)));
+    }
+
+    @Test
+    public void parseFilter_WithParenthesesAndQuotes_ReturnsFilter() {
+        PlanetFilter sut = PlanetFilter.parse("terrain contains mountains and (climate eq 'temperate, tropical' "
+                + "or terrain eq desert)");
+
+        assertThat(sut).isEqualTo(new And(MOUNTAINS,
+                new Or(new Term(Field.CLIMATE, Operator.EQ, List.of("temperate, tropical")), DESERT)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "", "terrain", "terrain contains", "name eq Tatooine", "terrain like desert",
+            "climate in arid", "climate in (arid,", "(terrain eq desert", "terrain eq desert or",
+            "terrain eq 'desert", "terrain eq desert desert" })
+    public void parseFilter_WithInvalidExpression_ThrowsException(String expression) {
+        assertThatThrownBy(() -> PlanetFilter.parse(expression)).isInstanceOf(InvalidFilterException.class);
+    }
+
+    @Test
+    public void matchFilter_IgnoresCase() {
+        PlanetFilter sut = PlanetFilter.parse("terrain contains MOUNTAINS and climate in (Arid, frozen)");
+
+        assertThat(sut.matches("ARID", "grasslands, mountains")).isTrue();
+        assertThat(sut.matches("temperate", "grasslands, mountains")).isFalse();
+        assertThat(sut.matches("arid", "desert")).isFalse();
+    }
+
+    @Test
+    public void ofFilter_WithoutValues_ReturnsNull() {
+        assertThat(PlanetFilter.of(null, null)).isNull();
+        assertThat(PlanetFilter.of("desert", null)).isEqualTo(DESERT);
+    }
+}
\ No newline at end of file
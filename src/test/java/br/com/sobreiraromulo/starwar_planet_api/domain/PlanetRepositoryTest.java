@@ -18,7 +18,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.dao.EmptyResultDataAccessException;
-import org.springframework.data.domain.Example;
 import org.springframework.test.context.jdbc.Sql;
 
 @DataJpaTest
@@ -33,6 +32,7 @@ public class PlanetRepositoryTest {
     @AfterEach
     public void afterEach() {
         PLANET.setId(null);
+        PLANET.setVersion(null);
     }
 
     @Test
@@ -97,47 +97,68 @@ public class PlanetRepositoryTest {
 
     @Test
     public void getPlanet_ByNonExistingId_ReturnsEmpty() {
-        assertThat(planetRepository.findByName("name")).isEmpty();
+        assertThat(planetRepository.findById(1L)).isEmpty();
     }
 
     @Test
     public void getPlanet_ByExistingName_ReturnsPlanet() {
         Planet planet = testEntityManager.persistFlushFind(PLANET);
 
-        Optional<Planet> sut = planetRepository.findByName(planet.getName());
+        Optional<PlanetView> sut = planetRepository.findViewByName(planet.getName());
 
         assertThat(sut).isNotNull();
-        assertThat(sut.get()).isEqualTo(planet);
+        assertThat(sut.get()).isEqualTo(PlanetView.of(planet));
 
     }
 
     @Test
     public void getPlanet_ByNonExistingName_ReturnsEmpty() {
-        assertThat(planetRepository.findById(1L)).isEmpty();
+        assertThat(planetRepository.findViewByName("name")).isEmpty();
+    }
+
+    @Test
+    public void getPlanetView_ByExistingIdAndName_ReturnsPlanet() {
+        Planet planet = testEntityManager.persistFlushFind(PLANET);
+
+        assertThat(planetRepository.findViewById(planet.getId())).contains(PlanetView.of(planet));
+        assertThat(planetRepository.findViewByName(planet.getName())).contains(PlanetView.of(planet));
+    }
+
+    @Test
+    public void getPlanetView_ByNonExistingIdAndName_ReturnsEmpty() {
+        assertThat(planetRepository.findViewById(1L)).isEmpty();
+        assertThat(planetRepository.findViewByName("name")).isEmpty();
     }
 
     @Sql(scripts = "/import_planets.sql")
     @Test
     public void listPlanets_ReturnPlanets() {
-        Example<Planet> queryWithoutFilters = QueryBuilder.makeQuery(new Planet());
-        Example<Planet> queryWithFilters = QueryBuilder
-                .makeQuery(new Planet(TATOOINE.getClimate(), TATOOINE.getTerrain()));
+        List<PlanetView> responseWithoutFilters = planetRepository.findViews((PlanetFilter) null);
+        List<PlanetView> responseWithFilters = planetRepository
+                .findViews(PlanetFilter.of(TATOOINE.getTerrain(), "ARID"));
 
-        List<Planet> responseWithoutFilters = planetRepository.findAll(queryWithoutFilters);
-        List<Planet> responseWithFilters = planetRepository.findAll(queryWithFilters);
+        assertThat(responseWithoutFilters).hasSize(3);
+        assertThat(responseWithFilters).containsExactly(PlanetView.of(testEntityManager.find(Planet.class, 1L)));
+    }
 
-        assertThat(responseWithoutFilters).isNotEmpty();
-        assertThat(responseWithoutFilters.size()).isEqualTo(3);
-        assertThat(responseWithFilters).isNotEmpty();
-        assertThat(responseWithFilters.size()).isEqualTo(1);
-        assertThat(responseWithFilters.get(0)).isEqualTo(TATOOINE);
+    @Sql(scripts = "/import_planets.sql")
+    @Test
+    public void listPlanetViews_WithFilterExpression_ReturnPlanets() {
+        List<PlanetView> all = planetRepository.findViews((PlanetFilter) null);
+        List<PlanetView> mountainsOrArid = planetRepository
+                .findViews(PlanetFilter.parse("terrain contains MOUNTAINS or climate in (arid, frozen)"));
+        List<PlanetView> notTemperate = planetRepository.findViews(PlanetFilter.parse("not climate contains temperate"));
+        List<PlanetView> wildcard = planetRepository.findViews(PlanetFilter.parse("terrain contains '%'"));
+
+        assertThat(all).hasSize(3);
+        assertThat(mountainsOrArid).extracting(PlanetView::id).containsExactly(1L, 2L);
+        assertThat(notTemperate).extracting(PlanetView::id).containsExactly(1L);
+        assertThat(wildcard).isEmpty();
     }
 
     @Test
     public void listPlanets_ReturnsNoPlanets() {
-        Example<Planet> query = QueryBuilder.makeQuery(new Planet());
-
-        List<Planet> response = planetRepository.findAll(query);
+        List<PlanetView> response = planetRepository.findViews((PlanetFilter) null);
 
         assertThat(response).isEmpty();
     }
@@ -162,4 +183,49 @@ public class PlanetRepositoryTest {
         assertThat(testEntityManager.find(Planet.class, 2L)).isInstanceOf(Planet.class);
         assertThat(testEntityManager.find(Planet.class, 3L)).isInstanceOf(Planet.class);
     }
+
+    @Sql(scripts = "/import_planets.sql")
+    @Test
+    public void updatePlanet_WithCurrentVersion_UpdatesOnlyGivenFields() {
+        int updated = planetRepository.updateIfVersionMatches("default", 1L, 0L, null, "frozen", null);
+
+        Planet sut = testEntityManager.find(Planet.class, 1L);
+
+        assertThat(updated).isEqualTo(1);
+        assertThat(sut.getName()).isEqualTo(TATOOINE.getName());
+        assertThat(sut.getClimate()).isEqualTo("frozen");
+        assertThat(sut.getTerrain()).isEqualTo(TATOOINE.getTerrain());
+        assertThat(sut.getVersion()).isEqualTo(1L);
+    }
+
+    @Sql(scripts = "/import_planets.sql")
+    @Test
+    public void updatePlanet_WithStaleVersion_UpdatesNothing() {
+        int updated = planetRepository.updateIfVersionMatches("default", 1L, 5L, null, "frozen", null);
+
+        Planet sut = testEntityManager.find(Planet.class, 1L);
+
+        assertThat(updated).isZero();
+        assertThat(sut.getClimate()).isEqualTo(TATOOINE.getClimate());
+        assertThat(sut.getVersion()).isZero();
+    }
+
+    @Sql(scripts = "/import_planets.sql")
+    @Test
+    public void updatePlanet_FromOtherTenant_UpdatesNothing() {
+        int updated = planetRepository.updateIfVersionMatches("other", 1L, 0L, null, "frozen", null);
+
+        assertThat(updated).isZero();
+        assertThat(testEntityManager.find(Planet.class, 1L).getClimate()).isEqualTo(TATOOINE.getClimate());
+    }
+
+    @Sql(scripts = "/import_planets.sql")
+    @Test
+    public void updatePlanetIfExists_WithAnyVersion_UpdatesAndIncrementsVersion() {
+        int updated = planetRepository.updateIfExists("default", 1L, null, "frozen", null);
+
+        assertThat(updated).isEqualTo(1);
+        assertThat(planetRepository.findVersionById(1L)).contains(1L);
+        assertThat(testEntityManager.find(Planet.class, 1L).getClimate()).isEqualTo("frozen");
+    }
 }
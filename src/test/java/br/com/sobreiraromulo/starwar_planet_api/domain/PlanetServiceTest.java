@@ -7,9 +7,9 @@ import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -19,7 +19,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Example;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
 
 @ExtendWith(MockitoExtension.class)
 public class PlanetServiceTest {
@@ -30,6 +32,9 @@ public class PlanetServiceTest {
     @Mock
     private PlanetRepository planetRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Test
     public void createPlanet_WithValidData_ReturnsPlanet() {
 
@@ -38,6 +43,7 @@ public class PlanetServiceTest {
         Planet sut = planetService.create(PLANET);
 
         assertThat(sut).isEqualTo(PLANET);
+        verify(eventPublisher).publishEvent(new PlanetsChangedEvent("default"));
     }
 
     @Test
@@ -52,20 +58,20 @@ public class PlanetServiceTest {
     @Test
     public void getPlanet_ByExistingId_ReturnsPlanet() {
 
-        when(planetRepository.findById(1L)).thenReturn(Optional.of(PLANET));
+        when(planetRepository.findViewById(1L)).thenReturn(Optional.of(PlanetView.of(PLANET)));
 
-        Optional<Planet> sut = planetService.get(1L);
+        Optional<PlanetView> sut = planetService.get(1L);
 
         assertThat(sut).isNotEmpty();
-        assertThat(sut).isEqualTo(Optional.of(PLANET));
+        assertThat(sut).isEqualTo(Optional.of(PlanetView.of(PLANET)));
     }
 
     @Test
     public void getPlanet_ByNonExistingId_ReturnsEmpty() {
 
-        when(planetRepository.findById(1L)).thenReturn(Optional.empty());
+        when(planetRepository.findViewById(1L)).thenReturn(Optional.empty());
 
-        Optional<Planet> sut = planetService.get(1L);
+        Optional<PlanetView> sut = planetService.get(1L);
 
         assertThat(sut).isEmpty();
     }
@@ -73,49 +79,42 @@ public class PlanetServiceTest {
     @Test
     public void getPlanetByName_ByExistingName_ReturnsPlanet() {
 
-        when(planetRepository.findByName(PLANET.getName())).thenReturn(Optional.of(PLANET));
+        when(planetRepository.findViewByName(PLANET.getName())).thenReturn(Optional.of(PlanetView.of(PLANET)));
 
-        Optional<Planet> sut = planetService.getByName(PLANET.getName());
+        Optional<PlanetView> sut = planetService.getByName(PLANET.getName());
 
         assertThat(sut).isNotEmpty();
-        assertThat(sut).isEqualTo(Optional.of(PLANET));
+        assertThat(sut).isEqualTo(Optional.of(PlanetView.of(PLANET)));
     }
 
     @Test
     public void getPlanetByName_ByNonExistingName_ReturnsEmpty() {
 
-        when(planetRepository.findByName("no-name")).thenReturn(Optional.empty());
+        when(planetRepository.findViewByName("no-name")).thenReturn(Optional.empty());
 
-        Optional<Planet> sut = planetService.getByName("no-name");
+        Optional<PlanetView> sut = planetService.getByName("no-name");
 
         assertThat(sut).isEmpty();
     }
 
     @Test
     public void listPlanets_ReturnsListOfPlanets() {
-        List<Planet> planets = new ArrayList<>() {
-            {
-                add(PLANET);
-            }
-        };
-
-        Example<Planet> query = QueryBuilder
-                .makeQuery(new Planet(PLANET.getClimate(), PLANET.getTerrain()));
+        List<PlanetView> planets = List.of(PlanetView.of(PLANET));
 
-        when(planetRepository.findAll(query)).thenReturn(planets);
+        when(planetRepository.findViews(PlanetFilter.of(PLANET.getTerrain(), PLANET.getClimate()))).thenReturn(planets);
 
-        List<Planet> sut = planetService.list(PLANET.getTerrain(), PLANET.getClimate());
+        List<PlanetView> sut = planetService.list(PLANET.getTerrain(), PLANET.getClimate());
 
         assertThat(sut).isNotEmpty();
         assertThat(sut).hasSize(1);
-        assertThat(sut.get(0)).isEqualTo(PLANET);
+        assertThat(sut.get(0)).isEqualTo(PlanetView.of(PLANET));
     }
 
     @Test
     public void listPlanets_ReturnsEmptyList() {
-        when(planetRepository.findAll(any())).thenReturn(Collections.emptyList());
+        when(planetRepository.findViews(any(PlanetFilter.class))).thenReturn(Collections.emptyList());
 
-        List<Planet> sut = planetService.list(PLANET.getTerrain(), PLANET.getClimate());
+        List<PlanetView> sut = planetService.list(PLANET.getTerrain(), PLANET.getClimate());
 
         assertThat(sut).isEmpty();
     }
@@ -132,4 +131,58 @@ public class PlanetServiceTest {
         assertThatThrownBy(() -> planetService.delete(99L)).isInstanceOf(RuntimeException.class);
     }
 
+    @Test
+    public void updatePlanet_WithCurrentVersion_ReturnsNextVersion() {
+        Planet planet = new Planet("name", "climate", "terrain");
+        planet.setVersion(3L);
+        when(planetRepository.updateIfVersionMatches("default", 1L, 3L, "name", "climate", "terrain")).thenReturn(1);
+
+        Long sut = planetService.update(1L, planet);
+
+        assertThat(sut).isEqualTo(4L);
+        verify(eventPublisher).publishEvent(new PlanetsChangedEvent("default"));
+    }
+
+    @Test
+    public void updatePlanet_WithStaleVersion_ThrowsException() {
+        Planet planet = new Planet(null, "frozen", null);
+        planet.setVersion(0L);
+        when(planetRepository.updateIfVersionMatches("default", 1L, 0L, null, "frozen", null)).thenReturn(0);
+        when(planetRepository.existsById(1L)).thenReturn(true);
+
+        assertThatThrownBy(() -> planetService.update(1L, planet))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+    }
+
+    @Test
+    public void updatePlanet_ByNonExistingId_ThrowsException() {
+        Planet planet = new Planet(null, "frozen", null);
+        planet.setVersion(0L);
+        when(planetRepository.updateIfVersionMatches("default", 99L, 0L, null, "frozen", null)).thenReturn(0);
+        when(planetRepository.existsById(99L)).thenReturn(false);
+
+        assertThatThrownBy(() -> planetService.update(99L, planet))
+                .isInstanceOf(EmptyResultDataAccessException.class);
+    }
+
+    @Test
+    public void updatePlanetAnyVersion_ByExistingId_ReturnsNewVersion() {
+        Planet planet = new Planet(null, "frozen", null);
+        when(planetRepository.updateIfExists("default", 1L, null, "frozen", null)).thenReturn(1);
+        when(planetRepository.findVersionById(1L)).thenReturn(Optional.of(6L));
+
+        Long sut = planetService.updateAnyVersion(1L, planet);
+
+        assertThat(sut).isEqualTo(6L);
+        verify(eventPublisher).publishEvent(new PlanetsChangedEvent("default"));
+    }
+
+    @Test
+    public void updatePlanetAnyVersion_ByNonExistingId_ThrowsException() {
+        Planet planet = new Planet(null, "frozen", null);
+        when(planetRepository.updateIfExists("default", 99L, null, "frozen", null)).thenReturn(0);
+
+        assertThatThrownBy(() -> planetService.updateAnyVersion(99L, planet))
+                .isInstanceOf(EmptyResultDataAccessException.class);
+    }
 }
@@ -0,0 +1,152 @@
+package br.com.sobreiraromulo.starwar_planet_api.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares serving reads from a {@link PlanetSnapshot} with the JPA path:
+ * heap (and direct memory) retained by the snapshot against the list
+ * returned by {@link PlanetRepository#findViews}, and get, getByName and list
+ * latencies. Disabled unless run with {@code -Dload=true}; the results are
+ * written as JSON to {@code target/load-test/snapshot.json}.
+ */
+@ActiveProfiles("load")
+@EnabledIfSystemProperty(named = "load", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+public class PlanetSnapshotBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("load.snapshotRows", 100_000);
+    private static final int WARMUP = Integer.getInteger("load.warmup", 2_000);
+    private static final int ITERATIONS = Integer.getInteger("load.iterations", 10_000);
+    private static final int LIST_ITERATIONS = Integer.getInteger("load.listIterations", 20);
+
+    private static final String[] CLIMATES = { "arid", "temperate", "tropical", "frozen", "murky", "windy" };
+    private static final String[] TERRAINS = { "desert", "grasslands", "mountains", "jungle", "tundra", "ocean",
+            "swamp", "cityscape" };
+
+    @Autowired
+    private PlanetRepository planetRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private long[] ids;
+
+    @BeforeEach
+    public void seed() {
+        jdbcTemplate.update("DELETE FROM planets");
+        jdbcTemplate.batchUpdate("INSERT INTO planets (name, climate, terrain, version, tenant) VALUES (?, ?, ?, 0, ?)",
+                IntStream.range(0, ROWS)
+                        .mapToObj(i -> new Object[] { "Planet-" + i, CLIMATES[i % CLIMATES.length],
+                                TERRAINS[i % TERRAINS.length], "default" })
+                        .toList());
+        ids = jdbcTemplate.queryForList("SELECT id FROM planets ORDER BY id", Long.class).stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+
+    @Test
+    public void snapshot_ComparedWithJpa() throws Exception {
+        long heap = usedHeap();
+        long direct = usedDirect();
+        List<PlanetView> views = planetRepository.findViews((PlanetFilter) null);
+        long viewsHeap = usedHeap() - heap;
+
+        PlanetSnapshot snapshot = PlanetSnapshot.of(views);
+        views = null;
+        long snapshotHeap = usedHeap() - heap;
+        long snapshotDirect = usedDirect() - direct;
+
+        Map<String, Object> jpa = new LinkedHashMap<>();
+        jpa.put("retainedHeapBytes", viewsHeap);
+        jpa.put("get", latencies(ITERATIONS, i -> planetRepository.findViewById(ids[i]).orElseThrow()));
+        jpa.put("getByName", latencies(ITERATIONS,
+                i -> planetRepository.findViewByName("Planet-" + i).orElseThrow()));
+        jpa.put("list", latencies(LIST_ITERATIONS, i -> planetRepository.findViews((PlanetFilter) null)));
+
+        Map<String, Object> offHeap = new LinkedHashMap<>();
+        offHeap.put("retainedHeapBytes", snapshotHeap);
+        offHeap.put("retainedDirectBytes", snapshotDirect);
+        offHeap.put("get", latencies(ITERATIONS, i -> snapshot.get(ids[i])));
+        offHeap.put("getByName", latencies(ITERATIONS, i -> snapshot.getByName("Planet-" + i)));
+        offHeap.put("list", latencies(LIST_ITERATIONS, i -> snapshot.list(null)));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("rows", ROWS);
+        report.put("jpa", jpa);
+        report.put("offHeap", offHeap);
+        write(Path.of("target", "load-test", "snapshot.json"), report);
+
+        assertThat(snapshot.size()).isEqualTo(ROWS);
+    }
+
+    /**
+     * Each call gets a random row index; only the call itself is timed.
+     */
+    private static Map<String, Object> latencies(int iterations, IntFunction<Object> read) {
+        long[] samples = new long[iterations];
+        for (int i = -Math.min(WARMUP, iterations); i < iterations; i++) {
+            int row = ThreadLocalRandom.current().nextInt(ROWS);
+            long start = System.nanoTime();
+            assertThat(read.apply(row)).isNotNull();
+            if (i >= 0) {
+                samples[i] = System.nanoTime() - start;
+            }
+        }
+        Arrays.sort(samples);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("p50Micros", samples[iterations / 2] / 1e3);
+        summary.put("p99Micros", samples[(int) Math.ceil(iterations * 0.99) - 1] / 1e3);
+        return summary;
+    }
+
+    /**
+     * Heap in use after a few collections; an estimate of what is still
+     * reachable, not an exact retained size.
+     */
+    private static long usedHeap() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long usedDirect() {
+        return ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(pool -> pool.getName().equals("direct"))
+                .mapToLong(BufferPoolMXBean::getMemoryUsed)
+                .sum();
+    }
+
+    private void write(Path output, Map<String, Object> report) throws IOException {
+        Files.createDirectories(output.getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(output.toFile(), report);
+    }
+}
@@ -0,0 +1,93 @@
+package br.com.sobreiraromulo.starwar_planet_api.domain;
+
+import static br.com.sobreiraromulo.starwar_planet_api.common.PlanetConstants.ALDERAAN;
+import static br.com.sobreiraromulo.starwar_planet_api.common.PlanetConstants.PLANETS;
+import static br.com.sobreiraromulo.starwar_planet_api.common.PlanetConstants.TATOOINE;
+import static br.com.sobreiraromulo.starwar_planet_api.common.PlanetConstants.YAVINIV;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+public class PlanetSnapshotTest {
+
+    private final PlanetSnapshot snapshot = PlanetSnapshot.of(PLANETS.stream().map(PlanetView::of).toList());
+
+    @Test
+    public void getPlanet_ByExistingId_ReturnsPlanet() {
+        assertThat(snapshot.get(2L)).isEqualTo(PlanetView.of(ALDERAAN));
+    }
+
+    @Test
+    public void getPlanet_ByNonExistingId_ReturnsNull() {
+        assertThat(snapshot.get(99L)).isNull();
+    }
+
+    @Test
+    public void getPlanet_ByExistingName_ReturnsPlanet() {
+        assertThat(snapshot.getByName("Yavin IV")).isEqualTo(PlanetView.of(YAVINIV));
+    }
+
+    @Test
+    public void getPlanet_ByNameInOtherCase_ReturnsPlanet() {
+        assertThat(snapshot.getByName("yavin iv")).isEqualTo(PlanetView.of(YAVINIV));
+        assertThat(snapshot.getByName("TATOOINE")).isEqualTo(PlanetView.of(TATOOINE));
+    }
+
+    @Test
+    public void getPlanet_ByNonExistingName_ReturnsNull() {
+        assertThat(snapshot.getByName("Yavin")).isNull();
+    }
+
+    @Test
+    public void listPlanets_ReturnPlanets() {
+        assertThat(snapshot.list(null)).hasSize(3);
+        assertThat(snapshot.list(PlanetFilter.of(null, "TEMPERATE"))).containsExactly(PlanetView.of(ALDERAAN));
+        assertThat(snapshot.list(PlanetFilter.of(TATOOINE.getTerrain(), TATOOINE.getClimate())))
+                .containsExactly(PlanetView.of(TATOOINE));
+        assertThat(snapshot.list(PlanetFilter.of("ocean", null))).isEmpty();
+    }
+
+    @Test
+    public void listPlanets_WithFilterExpression_ReturnPlanets() {
+        assertThat(snapshot.list(PlanetFilter.parse("terrain contains mountains or climate in (arid, frozen)")))
+                .containsExactly(PlanetView.of(TATOOINE), PlanetView.of(ALDERAAN));
+        assertThat(snapshot.list(PlanetFilter.parse("not climate eq arid")))
+                .containsExactly(PlanetView.of(ALDERAAN), PlanetView.of(YAVINIV));
+    }
+
+    @Test
+    public void listPlanets_FromEmptySnapshot_ReturnsNoPlanets() {
+        PlanetSnapshot empty = PlanetSnapshot.of(Collections.emptyList());
+
+        assertThat(empty.size()).isZero();
+        assertThat(empty.get(1L)).isNull();
+        assertThat(empty.getByName("name")).isNull();
+        assertThat(empty.list(null)).isEmpty();
+    }
+
+    @Test
+    public void getPlanet_FromLargeSnapshot_FindsEveryPlanet() {
+        List<PlanetView> planets = IntStream.range(0, 10_000)
+                .mapToObj(i -> new PlanetView(i * 7L + 1, "Planet-" + i, "climate-" + i % 5, "terrain-" + i % 11,
+                        (long) i))
+                .toList();
+        PlanetSnapshot large = PlanetSnapshot.of(planets);
+
+        planets.forEach(planet -> {
+            assertThat(large.get(planet.id())).isEqualTo(planet);
+            assertThat(large.getByName(planet.name())).isEqualTo(planet);
+        });
+        assertThat(large.list(PlanetFilter.of("terrain-3", "climate-2"))).hasSize(181);
+        assertThat(large.list(PlanetFilter.parse("not terrain contains -1 and climate in (climate-0, climate-4)")))
+                .extracting(PlanetView::id)
+                .isSorted()
+                .hasSize((int) planets.stream()
+                        .filter(p -> !p.terrain().contains("-1") && List.of("climate-0", "climate-4")
+                                .contains(p.climate()))
+                        .count());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,82 @@
+package br.com.sobreiraromulo.starwar_planet_api.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Checks that mutations through the API reach the export cache and the
+ * off-heap store, including updates whose event is only delivered after the
+ * transaction commits.
+ */
+@ActiveProfiles("offheap")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class PlanetsChangedEventTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    public void afterEach() {
+        jdbcTemplate.update("DELETE FROM planets");
+    }
+
+    @Test
+    public void mutations_RefreshExportAndOffHeapReads() throws IOException {
+        assertThat(export()).isEqualTo(PlanetExporter.HEADER);
+        assertThat(restTemplate.getForEntity("/planets/name/Hoth", String.class).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_FOUND);
+
+        Planet created = restTemplate.postForEntity("/planets", new Planet("Hoth", "frozen", "tundra"), Planet.class)
+                .getBody();
+
+        assertThat(export()).contains(created.getId() + ",Hoth,frozen,tundra,0");
+        ResponseEntity<PlanetView> read = restTemplate.getForEntity("/planets/name/Hoth", PlanetView.class);
+        assertThat(read.getBody().climate()).isEqualTo("frozen");
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setIfMatch(read.getHeaders().getETag());
+        ResponseEntity<Void> patched = restTemplate.exchange("/planets/" + created.getId(), HttpMethod.PATCH,
+                new HttpEntity<>("{\"climate\": \"temperate\"}", headers), Void.class);
+
+        assertThat(patched.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        assertThat(export()).contains(created.getId() + ",Hoth,temperate,tundra,1");
+        assertThat(restTemplate.getForObject("/planets/" + created.getId(), PlanetView.class).climate())
+                .isEqualTo("temperate");
+
+        restTemplate.delete("/planets/" + created.getId());
+
+        assertThat(export()).isEqualTo(PlanetExporter.HEADER);
+        assertThat(restTemplate.getForEntity("/planets/" + created.getId(), String.class).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    private String export() throws IOException {
+        byte[] body = restTemplate.getForObject("/planets/export", byte[].class);
+        try (InputStream csv = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return new String(csv.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package br.com.sobreiraromulo.starwar_planet_api.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.sobreiraromulo.starwar_planet_api.domain.Planet;
+import br.com.sobreiraromulo.starwar_planet_api.domain.PlanetFilter;
+import br.com.sobreiraromulo.starwar_planet_api.domain.PlanetRepository;
+import br.com.sobreiraromulo.starwar_planet_api.domain.PlanetView;
+
+/**
+ * Compares the bytes allocated per row to load and serialize a whole list as
+ * managed {@link Planet} entities and as {@link PlanetView} projections.
+ * Disabled unless run with {@code -Dload=true}; the results are written as
+ * JSON to {@code target/load-test/list-allocation.json}.
+ */
+@ActiveProfiles("load")
+@EnabledIfSystemProperty(named = "load", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+public class PlanetListAllocationTest {
+
+    private static final int ROWS = Integer.getInteger("load.listRows", 100_000);
+    private static final int WARMUP = Integer.getInteger("load.warmup", 3);
+    private static final int ITERATIONS = Integer.getInteger("load.iterations", 5);
+
+    @Autowired
+    private PlanetRepository planetRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    public void seed() {
+        jdbcTemplate.update("DELETE FROM planets");
+        jdbcTemplate.batchUpdate("INSERT INTO planets (name, climate, terrain, version, tenant) VALUES (?, ?, ?, 0, ?)",
+                IntStream.range(0, ROWS)
+                        .mapToObj(i -> new Object[] { "Planet-" + i, "arid", "desert", "default" })
+                        .toList());
+    }
+
+    @Test
+    public void listSerialization_AllocatesLessWithViews() throws Exception {
+        Map<String, Object> entities = measure(() -> transactionTemplate.execute(status -> {
+            List<Planet> planets = (List<Planet>) planetRepository.findAll();
+            return serialize(planets);
+        }));
+        Map<String, Object> views = measure(() -> serialize(planetRepository.findViews((PlanetFilter) null)));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("rows", ROWS);
+        report.put("entities", entities);
+        report.put("views", views);
+        write(Path.of("target", "load-test", "list-allocation.json"), report);
+
+        assertThat((double) views.get("allocatedBytesPerRow"))
+                .isLessThan((double) entities.get("allocatedBytesPerRow"));
+    }
+
+    /**
+     * Queries and serialization run on the calling thread, so its allocation
+     * counter covers the whole request apart from writing to the socket.
+     */
+    private static Map<String, Object> measure(Supplier<Integer> list) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory
+                .getThreadMXBean();
+        long[] allocated = new long[ITERATIONS];
+        long[] elapsed = new long[ITERATIONS];
+        for (int i = -WARMUP; i < ITERATIONS; i++) {
+            long bytes = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            assertThat(list.get()).isEqualTo(ROWS);
+            if (i >= 0) {
+                elapsed[i] = System.nanoTime() - start;
+                allocated[i] = threads.getCurrentThreadAllocatedBytes() - bytes;
+            }
+        }
+        Arrays.sort(allocated);
+        Arrays.sort(elapsed);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("allocatedBytesPerRow", (double) allocated[ITERATIONS / 2] / ROWS);
+        result.put("medianMillis", elapsed[ITERATIONS / 2] / 1e6);
+        return result;
+    }
+
+    private int serialize(List<?> planets) {
+        try {
+            objectMapper.writeValue(OutputStream.nullOutputStream(), planets);
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return planets.size();
+    }
+
+    private void write(Path output, Map<String, Object> report) throws IOException {
+        Files.createDirectories(output.getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(output.toFile(), report);
+    }
+}
@@ -0,0 +1,257 @@
+package br.com.sobreiraromulo.starwar_planet_api.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.sobreiraromulo.starwar_planet_api.domain.Planet;
+import br.com.sobreiraromulo.starwar_planet_api.domain.PlanetRepository;
+
+/**
+ * Mixed read/write load against every PlanetController endpoint. Disabled
+ * unless run with {@code -Dload=true}; the results are written as JSON to
+ * {@code target/load-test/results.json}.
+ */
+@ActiveProfiles("load")
+@EnabledIfSystemProperty(named = "load", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class PlanetLoadTest {
+
+    private static final int PLANETS = Integer.getInteger("load.planets", 1_000);
+    private static final int THREADS = Integer.getInteger("load.threads", 8);
+    private static final int REQUESTS = Integer.getInteger("load.requests", 20_000);
+    private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("load.maxErrorRate", "0.01"));
+
+    private static final String[] CLIMATES = { "arid", "temperate", "tropical", "frozen", "murky", "windy" };
+    private static final String[] TERRAINS = { "desert", "grasslands", "mountains", "jungle", "tundra", "ocean",
+            "swamp", "cityscape" };
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private PlanetRepository planetRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Map<String, Scenario> scenarios = new LinkedHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private List<Long> ids;
+
+    @BeforeEach
+    public void seed() {
+        planetRepository.deleteAll();
+
+        List<Planet> planets = IntStream.range(0, PLANETS)
+                .mapToObj(i -> new Planet("Planet-" + i, climate(), terrain()))
+                .toList();
+        ids = new ArrayList<>();
+        planetRepository.saveAll(planets).forEach(planet -> ids.add(planet.getId()));
+
+        scenarios.put("getById", Scenario.of(35, () -> restTemplate.getForEntity("/planets/" + randomId(),
+                String.class)));
+        scenarios.put("getByName", Scenario.of(20, () -> restTemplate.getForEntity(
+                "/planets/name/Planet-" + ThreadLocalRandom.current().nextInt(PLANETS), String.class)));
+        scenarios.put("list", Scenario.of(8, () -> restTemplate.getForEntity("/planets?climate=" + climate(),
+                String.class)));
+        scenarios.put("filter", Scenario.of(5, () -> restTemplate.getForEntity("/planets?filter={filter}",
+                String.class, "terrain contains " + TERRAINS[ThreadLocalRandom.current().nextInt(TERRAINS.length)]
+                        + " and climate in (" + climate() + ", " + climate() + ")")));
+        scenarios.put("export", Scenario.of(2, () -> restTemplate.getForEntity("/planets/export", byte[].class)));
+        scenarios.put("create", Scenario.of(15, () -> restTemplate.postForEntity("/planets",
+                new Planet("Load-" + sequence.incrementAndGet(), climate(), terrain()), String.class)));
+        scenarios.put("patch", Scenario.prepared(5, this::currentVersion, current -> update(HttpMethod.PATCH,
+                current, "{\"climate\": \"" + climate() + "\"}")));
+        scenarios.put("put", Scenario.prepared(5, this::currentVersion, current -> update(HttpMethod.PUT,
+                current, "{\"name\": \"Replaced-" + sequence.incrementAndGet() + "\", \"climate\": \"" + climate()
+                        + "\", \"terrain\": \"" + terrain() + "\"}")));
+        scenarios.put("delete", Scenario.of(5, () -> restTemplate.exchange("/planets/" + randomId(),
+                HttpMethod.DELETE, null, Void.class)));
+    }
+
+    @Test
+    public void mixedScenarios_StayUnderErrorRate() throws Exception {
+        int totalWeight = scenarios.values().stream().mapToInt(Scenario::weight).sum();
+        List<Scenario> wheel = new ArrayList<>();
+        scenarios.values().forEach(scenario -> IntStream.range(0, scenario.weight()).forEach(i -> wheel.add(scenario)));
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            executor.execute(() -> wheel.get(ThreadLocalRandom.current().nextInt(totalWeight)).run());
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.MINUTES)).isTrue();
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("planets", PLANETS);
+        report.put("threads", THREADS);
+        report.put("requests", REQUESTS);
+        report.put("elapsedSeconds", elapsedSeconds);
+        report.put("throughputPerSecond", REQUESTS / elapsedSeconds);
+        Map<String, Object> perScenario = new LinkedHashMap<>();
+        scenarios.forEach((name, scenario) -> perScenario.put(name, scenario.summary(elapsedSeconds)));
+        report.put("scenarios", perScenario);
+
+        Path output = Path.of("target", "load-test", "results.json");
+        write(output, report);
+
+        long errors = scenarios.values().stream().mapToLong(scenario -> scenario.errors.get()).sum();
+        assertThat((double) errors / REQUESTS).isLessThanOrEqualTo(MAX_ERROR_RATE);
+    }
+
+    /**
+     * Reads the version straight from the repository, outside the timed
+     * request. Deleted planets get version 0 and are answered with 404.
+     */
+    private Versioned currentVersion() {
+        long id = randomId();
+        return new Versioned(id, planetRepository.findVersionById(id).orElse(0L));
+    }
+
+    private ResponseEntity<?> update(HttpMethod method, Versioned current, String body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setIfMatch("\"" + current.version() + "\"");
+        return restTemplate.exchange("/planets/" + current.id(), method, new HttpEntity<>(body, headers),
+                String.class);
+    }
+
+    private long randomId() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    private static String climate() {
+        return CLIMATES[ThreadLocalRandom.current().nextInt(CLIMATES.length)];
+    }
+
+    private static String terrain() {
+        return TERRAINS[ThreadLocalRandom.current().nextInt(TERRAINS.length)] + ", "
+                + TERRAINS[ThreadLocalRandom.current().nextInt(TERRAINS.length)];
+    }
+
+    private void write(Path output, Map<String, Object> report) throws IOException {
+        Files.createDirectories(output.getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(output.toFile(), report);
+    }
+
+    private record Versioned(long id, long version) {
+    }
+
+    /**
+     * Runs one kind of request and keeps its latencies. Only the request
+     * itself is timed; any preparation (such as looking up the current
+     * version) happens before the clock starts. 4xx answers (missing ids
+     * after deletes, version conflicts) are expected under this mix and only
+     * counted; 5xx answers and transport failures are errors.
+     */
+    private static class Scenario {
+
+        private final int weight;
+        private final Supplier<Supplier<ResponseEntity<?>>> prepare;
+        private final List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        private final Map<Integer, AtomicLong> statuses = new ConcurrentHashMap<>();
+        private final AtomicLong errors = new AtomicLong();
+
+        private Scenario(int weight, Supplier<Supplier<ResponseEntity<?>>> prepare) {
+            this.weight = weight;
+            this.prepare = prepare;
+        }
+
+        static Scenario of(int weight, Supplier<ResponseEntity<?>> request) {
+            return new Scenario(weight, () -> request);
+        }
+
+        static <T> Scenario prepared(int weight, Supplier<T> preparation, Function<T, ResponseEntity<?>> request) {
+            return new Scenario(weight, () -> {
+                T prepared = preparation.get();
+                return () -> request.apply(prepared);
+            });
+        }
+
+        int weight() {
+            return weight;
+        }
+
+        void run() {
+            Supplier<ResponseEntity<?>> request;
+            try {
+                request = prepare.get();
+            } catch (RuntimeException ex) {
+                errors.incrementAndGet();
+                return;
+            }
+
+            long start = System.nanoTime();
+            try {
+                int status = request.get().getStatusCode().value();
+                statuses.computeIfAbsent(status, key -> new AtomicLong()).incrementAndGet();
+                if (status >= 500) {
+                    errors.incrementAndGet();
+                }
+            } catch (RuntimeException ex) {
+                errors.incrementAndGet();
+            } finally {
+                latencies.add(System.nanoTime() - start);
+            }
+        }
+
+        Map<String, Object> summary(double elapsedSeconds) {
+            long[] sorted;
+            synchronized (latencies) {
+                sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            }
+
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("count", sorted.length);
+            summary.put("throughputPerSecond", sorted.length / elapsedSeconds);
+            summary.put("p50Millis", percentile(sorted, 50));
+            summary.put("p95Millis", percentile(sorted, 95));
+            summary.put("p99Millis", percentile(sorted, 99));
+            summary.put("errorRate", sorted.length == 0 ? 0 : (double) errors.get() / sorted.length);
+            summary.put("statuses", statuses);
+            return summary;
+        }
+
+        private static double percentile(long[] sorted, int percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package br.com.sobreiraromulo.starwar_planet_api.tenant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import br.com.sobreiraromulo.starwar_planet_api.domain.Planet;
+
+@ActiveProfiles("sharding")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class PlanetShardingTest {
+
+    private static final int SHARDS = 2;
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @Autowired
+    ShardingProperties shardingProperties;
+
+    @Autowired
+    Environment environment;
+
+    @AfterEach
+    public void afterEach() throws SQLException {
+        for (int shard = 0; shard < SHARDS; shard++) {
+            try (Connection connection = connect(shard); Statement statement = connection.createStatement()) {
+                statement.execute("TRUNCATE TABLE planets");
+            }
+        }
+    }
+
+    @Test
+    public void createPlanet_WithSameNameOnTwoTenants_StoresEachOnItsShard() throws SQLException {
+        String tenantA = tenantOnShard(0, 0);
+        String tenantB = tenantOnShard(1, 0);
+
+        ResponseEntity<Planet> createdA = create(tenantA, new Planet("Hoth", "frozen", "tundra"));
+        ResponseEntity<Planet> createdB = create(tenantB, new Planet("Hoth", "frozen", "tundra"));
+
+        assertThat(createdA.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(createdB.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(countOnShard(0, tenantA)).isEqualTo(1);
+        assertThat(countOnShard(1, tenantB)).isEqualTo(1);
+        assertThat(countOnShard(1, tenantA)).isZero();
+        assertThat(countOnShard(0, tenantB)).isZero();
+    }
+
+    @Test
+    public void getPlanet_FromOtherTenantOnSameShard_ReturnsNotFound() {
+        String owner = tenantOnShard(0, 0);
+        String other = tenantOnShard(0, 1);
+        Planet created = create(owner, new Planet("Hoth", "frozen", "tundra")).getBody();
+
+        ResponseEntity<Planet> byOwner = get(owner, "/planets/name/Hoth");
+        ResponseEntity<Planet> byOtherName = get(other, "/planets/name/Hoth");
+        ResponseEntity<Planet> byOtherId = get(other, "/planets/" + created.getId());
+
+        assertThat(byOwner.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(byOtherName.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(byOtherId.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    public void shardPools_UseHikariSettingsAndCloseWithRoutingDataSource() throws Exception {
+        ShardRoutingDataSource dataSource = new ShardingConfiguration().dataSource(shardingProperties, environment);
+
+        assertThat(dataSource.getShards()).hasSize(SHARDS).allSatisfy(shard -> {
+            assertThat(shard).isInstanceOf(HikariDataSource.class);
+            assertThat(((HikariDataSource) shard).getMaximumPoolSize()).isEqualTo(4);
+        });
+
+        dataSource.destroy();
+
+        assertThat(dataSource.getShards()).allSatisfy(shard -> assertThat(((HikariDataSource) shard).isClosed()).isTrue());
+    }
+
+    private ResponseEntity<Planet> create(String tenant, Planet planet) {
+        return restTemplate.exchange("/planets", HttpMethod.POST, new HttpEntity<>(planet, headers(tenant)),
+                Planet.class);
+    }
+
+    private ResponseEntity<Planet> get(String tenant, String path) {
+        return restTemplate.exchange(path, HttpMethod.GET, new HttpEntity<>(headers(tenant)), Planet.class);
+    }
+
+    private static HttpHeaders headers(String tenant) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(TenantFilter.TENANT_HEADER, tenant);
+        return headers;
+    }
+
+    /**
+     * Returns the {@code skip}-th generated tenant name that hashes to the
+     * given shard.
+     */
+    private static String tenantOnShard(int shard, int skip) {
+        int found = 0;
+        for (int i = 0;; i++) {
+            String tenant = "tenant-" + i;
+            if (ShardRoutingDataSource.shardFor(tenant, SHARDS) == shard && found++ == skip) {
+                return tenant;
+            }
+        }
+    }
+
+    private static int countOnShard(int shard, String tenant) throws SQLException {
+        try (Connection connection = connect(shard);
+                PreparedStatement statement = connection
+                        .prepareStatement("SELECT COUNT(*) FROM planets WHERE tenant = ?")) {
+            statement.setString(1, tenant);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getInt(1);
+            }
+        }
+    }
+
+    private static Connection connect(int shard) throws SQLException {
+        return DriverManager.getConnection("jdbc:h2:mem:shard" + shard, "sa", "");
+    }
+}
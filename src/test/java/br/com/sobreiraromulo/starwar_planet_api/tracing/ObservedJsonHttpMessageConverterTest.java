@@ -0,0 +1,46 @@
+package br.com.sobreiraromulo.starwar_planet_api.tracing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+
+public class ObservedJsonHttpMessageConverterTest {
+
+    @Test
+    public void write_ObservesSerialization() throws Exception {
+        List<String> stopped = new ArrayList<>();
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new ObservationHandler<Observation.Context>() {
+
+            @Override
+            public void onStop(Observation.Context context) {
+                stopped.add(context.getName());
+            }
+
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                return true;
+            }
+        });
+        ObservedJsonHttpMessageConverter converter = new ObservedJsonHttpMessageConverter(new ObjectMapper(),
+                observationRegistry);
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        converter.write(Map.of("name", "Tatooine"), MediaType.APPLICATION_JSON, output);
+
+        assertThat(output.getBodyAsString()).isEqualTo("{\"name\":\"Tatooine\"}");
+        assertThat(stopped).containsExactly("planets.serialization");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,82 @@
+package br.com.sobreiraromulo.starwar_planet_api.tracing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+public class ServerTimingFilterTest {
+
+    private final ServerTimingFilter filter = new ServerTimingFilter();
+
+    private final ObservationRegistry observationRegistry = observationRegistry();
+
+    @Test
+    public void filterRequest_AddsServerTimingHeaderWithObservedPhases() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/planets/name/Tatooine"), response, (req, res) -> {
+            Observation.createNotStarted("planets.service", observationRegistry).observe(() -> {
+                Observation.createNotStarted("planets.repository", observationRegistry).observe(() -> {
+                });
+                Observation.createNotStarted("planets.repository", observationRegistry).observe(() -> {
+                });
+            });
+            Observation.createNotStarted("some.other", observationRegistry).observe(() -> {
+            });
+            res.getWriter().write("{}");
+        });
+
+        assertThat(response.getHeader(ServerTimingFilter.SERVER_TIMING_HEADER))
+                .matches("repository;dur=\\d+\\.\\d{3}, service;dur=\\d+\\.\\d{3}, total;dur=\\d+\\.\\d{3}");
+        assertThat(response.getContentAsString()).isEqualTo("{}");
+        assertThat(ServerTiming.current()).isNull();
+    }
+
+    @Test
+    public void filterRequest_WritesHeaderWhenControllerReturns() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/planets"), response, (req, res) -> {
+            Observation.createNotStarted("planets.controller", observationRegistry).observe(() -> {
+                Observation.createNotStarted("planets.service", observationRegistry).observe(() -> {
+                });
+            });
+            res.getWriter().write("[]");
+            res.flushBuffer();
+        });
+
+        assertThat(response.isCommitted()).isTrue();
+        assertThat(response.getHeader(ServerTimingFilter.SERVER_TIMING_HEADER))
+                .matches("service;dur=\\d+\\.\\d{3}, controller;dur=\\d+\\.\\d{3}, total;dur=\\d+\\.\\d{3}");
+        assertThat(response.getContentAsString()).isEqualTo("[]");
+    }
+
+    @Test
+    public void filterExport_LeavesResponseUntouched() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/planets/export"), response,
+                (req, res) -> assertThat(ServerTiming.current()).isNull());
+
+        assertThat(response.getHeader(ServerTimingFilter.SERVER_TIMING_HEADER)).isNull();
+    }
+
+    @Test
+    public void observePhase_WithoutServerTiming_RecordsNothing() {
+        Observation.createNotStarted("planets.service", observationRegistry).observe(() -> {
+        });
+
+        assertThat(ServerTiming.current()).isNull();
+    }
+
+    private static ObservationRegistry observationRegistry() {
+        ObservationRegistry registry = ObservationRegistry.create();
+        registry.observationConfig().observationHandler(new ServerTimingObservationHandler());
+        return registry;
+    }
+}
\ No newline at end of file
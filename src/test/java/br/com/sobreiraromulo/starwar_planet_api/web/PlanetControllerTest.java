@@ -6,25 +6,38 @@ import static br.com.sobreiraromulo.starwar_planet_api.common.PlanetConstants.PL
 import static br.com.sobreiraromulo.starwar_planet_api.common.PlanetConstants.TATOOINE;
 import static br.com.sobreiraromulo.starwar_planet_api.common.PlanetConstants.YAVINIV;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import static org.hamcrest.Matchers.hasSize;
 
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -32,7 +45,10 @@ import org.springframework.test.web.servlet.MockMvc;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import br.com.sobreiraromulo.starwar_planet_api.domain.Planet;
+import br.com.sobreiraromulo.starwar_planet_api.domain.PlanetExporter;
+import br.com.sobreiraromulo.starwar_planet_api.domain.PlanetFilter;
 import br.com.sobreiraromulo.starwar_planet_api.domain.PlanetService;
+import br.com.sobreiraromulo.starwar_planet_api.domain.PlanetView;
 
 @WebMvcTest(PlanetController.class)
 public class PlanetControllerTest {
@@ -41,6 +57,9 @@ public class PlanetControllerTest {
     // @MockBean //está depreciada e subistitui pela de cima até agora não deu erro
     private PlanetService planetService;
 
+    @MockitoBean
+    private PlanetExporter planetExporter;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -89,7 +108,7 @@ public class PlanetControllerTest {
 
     @Test
     public void getPlanet_ByExistingId_ReturnsPlanet() throws Exception {
-        when(planetService.get(1L)).thenReturn(Optional.of(PLANET));
+        when(planetService.get(1L)).thenReturn(Optional.of(PlanetView.of(PLANET)));
 
         mockMvc.perform(get("/planets/1"))
                 .andExpect(status().isOk())
@@ -105,7 +124,7 @@ public class PlanetControllerTest {
 
     @Test
     public void getPlanet_ByExistingName_ReturnsPlanet() throws Exception {
-        when(planetService.getByName("name")).thenReturn(Optional.of(PLANET));
+        when(planetService.getByName("name")).thenReturn(Optional.of(PlanetView.of(PLANET)));
 
         mockMvc.perform(get("/planets/name/name"))
                 .andExpect(status().isOk())
@@ -113,6 +132,20 @@ public class PlanetControllerTest {
 
     }
 
+    @Test
+    public void getPlanet_WithVersion_ReturnsETag() throws Exception {
+        PlanetView planet = new PlanetView(1L, "name", "climate", "terrain", 3L);
+        when(planetService.get(1L)).thenReturn(Optional.of(planet));
+        when(planetService.getByName("name")).thenReturn(Optional.of(planet));
+
+        mockMvc.perform(get("/planets/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+        mockMvc.perform(get("/planets/name/name"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+    }
+
     @Test
     public void getPlanet_ByNonExistingName_ReturnsNotFound() throws Exception {
         mockMvc.perform(get("/planets/name/name"))
@@ -121,8 +154,9 @@ public class PlanetControllerTest {
 
     @Test
     public void listPlanets_ReturnPlanets() throws Exception {
-        when(planetService.list(null, null)).thenReturn(PLANETS);
-        when(planetService.list(TATOOINE.getTerrain(), TATOOINE.getClimate())).thenReturn(List.of(TATOOINE));
+        when(planetService.list(null, null)).thenReturn(PLANETS.stream().map(PlanetView::of).toList());
+        when(planetService.list(TATOOINE.getTerrain(), TATOOINE.getClimate()))
+                .thenReturn(List.of(PlanetView.of(TATOOINE)));
 
         mockMvc.perform(get("/planets"))
                 .andExpect(status().isOk())
@@ -135,6 +169,26 @@ public class PlanetControllerTest {
                 .andExpect(jsonPath("$[0]").value(TATOOINE));
     }
 
+    @Test
+    public void listPlanets_WithFilterExpression_ReturnPlanets() throws Exception {
+        PlanetFilter filter = PlanetFilter.and(PlanetFilter.parse("terrain contains desert"),
+                PlanetFilter.of(null, TATOOINE.getClimate()));
+        when(planetService.list(filter)).thenReturn(List.of(PlanetView.of(TATOOINE)));
+
+        mockMvc.perform(get("/planets")
+                .param("filter", "terrain contains desert")
+                .param("climate", TATOOINE.getClimate()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0]").value(TATOOINE));
+    }
+
+    @Test
+    public void listPlanets_WithInvalidFilterExpression_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/planets").param("filter", "terrain like desert"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     public void listPlanets_ReturnsNoPlanets() throws Exception {
         when(planetService.list(any(), any())).thenReturn(Collections.emptyList());
@@ -159,4 +213,146 @@ public class PlanetControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    public void updatePlanet_WithCurrentVersion_ReturnsNoContent() throws Exception {
+        Planet planet = new Planet("name", "climate", "terrain");
+        planet.setVersion(0L);
+        when(planetService.update(eq(1L), any())).thenReturn(1L);
+
+        mockMvc.perform(put("/planets/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(planet)))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+    }
+
+    @Test
+    public void updatePlanet_WithInvalidData_ReturnsUnprocessableEntity() throws Exception {
+        Planet invalidPlanet = new Planet("", "", "");
+        invalidPlanet.setVersion(0L);
+
+        mockMvc.perform(put("/planets/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(invalidPlanet)))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    public void patchPlanet_WithPartialData_ReturnsNoContent() throws Exception {
+        when(planetService.update(eq(1L), any())).thenReturn(1L);
+
+        mockMvc.perform(patch("/planets/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"climate\": \"frozen\", \"version\": 0}"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+    }
+
+    @Test
+    public void patchPlanet_WithoutVersion_ReturnsPreconditionRequired() throws Exception {
+        mockMvc.perform(patch("/planets/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"climate\": \"frozen\"}"))
+                .andExpect(status().isPreconditionRequired());
+    }
+
+    @Test
+    public void patchPlanet_WithStaleVersion_ReturnsConflict() throws Exception {
+        when(planetService.update(eq(1L), any())).thenThrow(OptimisticLockingFailureException.class);
+
+        mockMvc.perform(patch("/planets/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"climate\": \"frozen\", \"version\": 0}"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    public void patchPlanet_WithStaleIfMatch_ReturnsPreconditionFailed() throws Exception {
+        when(planetService.update(eq(1L), any())).thenThrow(OptimisticLockingFailureException.class);
+
+        mockMvc.perform(patch("/planets/1")
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"climate\": \"frozen\"}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    public void patchPlanet_WithEmptyField_ReturnsUnprocessableEntity() throws Exception {
+        mockMvc.perform(patch("/planets/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"\", \"version\": 0}"))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    public void updatePlanet_WithWildcardIfMatch_ReturnsNoContent() throws Exception {
+        when(planetService.updateAnyVersion(eq(1L), any())).thenReturn(5L);
+
+        mockMvc.perform(put("/planets/1")
+                .header(HttpHeaders.IF_MATCH, "*")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(PLANET)))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"5\""));
+    }
+
+    @Test
+    public void patchPlanet_ByNonExistingId_ReturnsNotFound() throws Exception {
+        when(planetService.update(eq(1L), any())).thenThrow(new EmptyResultDataAccessException(1));
+
+        mockMvc.perform(patch("/planets/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"climate\": \"frozen\", \"version\": 0}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void exportPlanets_ReturnsWholeFile(@TempDir Path directory) throws Exception {
+        byte[] export = "0123456789".getBytes(StandardCharsets.UTF_8);
+        when(planetExporter.open()).thenReturn(open(directory, export));
+
+        mockMvc.perform(get("/planets/export"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 10))
+                .andExpect(content().contentType("application/gzip"))
+                .andExpect(content().bytes(export));
+    }
+
+    @Test
+    public void exportPlanets_WithRange_ReturnsPartialContent(@TempDir Path directory) throws Exception {
+        when(planetExporter.open()).thenReturn(open(directory, "0123456789".getBytes(StandardCharsets.UTF_8)));
+
+        mockMvc.perform(get("/planets/export").header(HttpHeaders.RANGE, "bytes=2-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"))
+                .andExpect(content().bytes("2345".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void exportPlanets_WithRangePastEnd_ReturnsRangeNotSatisfiable(@TempDir Path directory) throws Exception {
+        when(planetExporter.open()).thenReturn(open(directory, "0123456789".getBytes(StandardCharsets.UTF_8)));
+
+        mockMvc.perform(get("/planets/export").header(HttpHeaders.RANGE, "bytes=10-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+    }
+
+    @Test
+    public void exportPlanets_WithInvalidRange_ReturnsWholeFile(@TempDir Path directory) throws Exception {
+        byte[] export = "0123456789".getBytes(StandardCharsets.UTF_8);
+        when(planetExporter.open()).thenReturn(open(directory, export));
+
+        mockMvc.perform(get("/planets/export").header(HttpHeaders.RANGE, "bytes=abc"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+                .andExpect(content().bytes(export));
+    }
+
+    private static FileChannel open(Path directory, byte[] content) throws Exception {
+        Path file = Files.write(directory.resolve("planets.csv.gz"), content);
+        return FileChannel.open(file, StandardOpenOption.READ);
+    }
+
 }
@@ -1,3 +1,3 @@
-INSERT INTO planets (id, name, climate, terrain) VALUES (1, 'Tatooine', 'arid', 'desert');
-INSERT INTO planets (id, name, climate, terrain) VALUES (2, 'Alderaan', 'temperate', 'grasslands, mountains');
-INSERT INTO planets (id, name, climate, terrain) VALUES (3, 'Yavin IV', 'temperate, tropical', 'jungle, rainforests');
\ No newline at end of file
+INSERT INTO planets (id, name, climate, terrain, version, tenant) VALUES (1, 'Tatooine', 'arid', 'desert', 0, 'default');
+INSERT INTO planets (id, name, climate, terrain, version, tenant) VALUES (2, 'Alderaan', 'temperate', 'grasslands, mountains', 0, 'default');
+INSERT INTO planets (id, name, climate, terrain, version, tenant) VALUES (3, 'Yavin IV', 'temperate, tropical', 'jungle, rainforests', 0, 'default');
\ No newline at end of file
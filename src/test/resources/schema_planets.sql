@@ -0,0 +1,11 @@
+CREATE TABLE IF NOT EXISTS planets (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    climate VARCHAR(255) NOT NULL,
+    terrain VARCHAR(255) NOT NULL,
+    version BIGINT NOT NULL,
+    tenant VARCHAR(255) DEFAULT 'default' NOT NULL,
+    CONSTRAINT uk_planets_tenant_name UNIQUE (tenant, name)
+);
+CREATE INDEX IF NOT EXISTS idx_planets_tenant_climate ON planets (tenant, climate);
+CREATE INDEX IF NOT EXISTS idx_planets_tenant_terrain ON planets (tenant, terrain);